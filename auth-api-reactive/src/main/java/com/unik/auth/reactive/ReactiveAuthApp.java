@@ -0,0 +1,26 @@
+package com.unik.auth.reactive;
+
+import com.unik.auth.adapters.cache.RedisSessionRegistry;
+import com.unik.auth.adapters.cache.RedisTokenEpochStore;
+import com.unik.auth.adapters.persistence.GenericUserFactory;
+import com.unik.auth.adapters.security.JwtTokenService;
+import com.unik.auth.config.RedisConfig;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Entry point of the non-blocking variant of the authentication service: WebFlux on Netty with R2DBC.
+ * Scans only the reactive package and imports the infra beans it shares with the servlet application:
+ * the token service, plus the Redis token epochs and session registry so revocations made by either
+ * application apply to both. None of the JPA or mail adapters are created.
+ */
+@SpringBootApplication
+@Import({JwtTokenService.class, GenericUserFactory.class, RedisConfig.class, RedisTokenEpochStore.class,
+        RedisSessionRegistry.class})
+public class ReactiveAuthApp {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveAuthApp.class, args);
+    }
+}
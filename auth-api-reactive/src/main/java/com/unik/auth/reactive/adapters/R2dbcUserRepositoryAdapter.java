@@ -0,0 +1,247 @@
+package com.unik.auth.reactive.adapters;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unik.auth.adapters.persistence.AuthUserEntity;
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.exceptions.UserAlreadyExistsException;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.domain.valueobjects.Password;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.AsyncUserRepositoryPort;
+import io.r2dbc.spi.Readable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking repository adapter over the {@code auth_users}, {@code auth_roles} and
+ * {@code auth_user_roles} tables shared with the JPA adapter. Implements the async repository port,
+ * since a synchronous port cannot be served without blocking an event-loop thread.
+ */
+@Slf4j
+@Component
+public class R2dbcUserRepositoryAdapter<R> implements AsyncUserRepositoryPort<GenericUser<R>, R> {
+
+    private static final String USER_COLUMNS = "id, email, username, password_hash, enabled, locked, "
+            + "account_expired, credentials_expired, created_at, updated_at";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Cache<String, Long> roleIds;
+
+    public R2dbcUserRepositoryAdapter(
+            DatabaseClient databaseClient,
+            TransactionalOperator transactionalOperator,
+            @Value("${persistence.role-ids.max-size:1000}") long roleIdsMaxSize,
+            @Value("${persistence.role-ids.ttl-seconds:600}") long roleIdsTtlSeconds
+    ) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.roleIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(roleIdsTtlSeconds))
+                .maximumSize(roleIdsMaxSize)
+                .build();
+    }
+
+    @Override
+    public CompletionStage<Optional<GenericUser<R>>> findById(UserId userId) {
+        return findOne("id = :value", userId.toBytes()).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Optional<GenericUser<R>>> findByEmail(Email email) {
+        return findOne("email = :value", email.getValue()).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Optional<GenericUser<R>>> findByUsername(String username) {
+        return findOne("username_normalized = :value", AuthUserEntity.normalizeIdentifier(username)).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsByEmail(Email email) {
+        return exists("email = :value", email.getValue()).toFuture();
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsByUsername(String username) {
+        return exists("username_normalized = :value", AuthUserEntity.normalizeIdentifier(username)).toFuture();
+    }
+
+    /**
+     * Inserts the user and its role links in one transaction. Duplicates are rejected by the
+     * table's unique constraints and reported as {@link UserAlreadyExistsException}.
+     */
+    @Override
+    public <S extends GenericUser<R>> CompletionStage<S> create(S user, Consumer<? super S> inTransaction) {
+        log.debug("Creating user: {}", user.getUsername());
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("INSERT INTO auth_users (id, email, username, username_normalized, password_hash, "
+                        + "enabled, locked, account_expired, credentials_expired, created_at, updated_at) "
+                        + "VALUES (:id, :email, :username, :usernameNormalized, :passwordHash, "
+                        + ":enabled, :locked, :accountExpired, :credentialsExpired, :createdAt, :updatedAt)")
+                .bind("id", user.getId().toBytes())
+                .bind("email", user.getEmail())
+                .bind("username", user.getUsername())
+                .bind("usernameNormalized", AuthUserEntity.normalizeIdentifier(user.getUsername()))
+                .bind("passwordHash", user.getPassword())
+                .bind("enabled", user.isEnabled())
+                .bind("locked", user.isLocked())
+                .bind("accountExpired", user.isAccountExpired())
+                .bind("credentialsExpired", user.isCredentialsExpired())
+                .bind("createdAt", user.getCreatedAt() != null ? user.getCreatedAt() : now)
+                .bind("updatedAt", now)
+                .fetch().rowsUpdated()
+                .then(insertRoles(user))
+                .then(Mono.fromRunnable(() -> inTransaction.accept(user)))
+                .thenReturn(user)
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateConstraintViolation(user, e))
+                .toFuture();
+    }
+
+    @Override
+    public <S extends GenericUser<R>> CompletionStage<S> update(S user) {
+        log.debug("Updating user: {}", user.getUsername());
+        byte[] id = user.getId().toBytes();
+        return databaseClient.sql("UPDATE auth_users SET email = :email, username = :username, "
+                        + "username_normalized = :usernameNormalized, password_hash = :passwordHash, enabled = :enabled, "
+                        + "locked = :locked, account_expired = :accountExpired, credentials_expired = :credentialsExpired, "
+                        + "updated_at = :updatedAt WHERE id = :id")
+                .bind("id", id)
+                .bind("email", user.getEmail())
+                .bind("username", user.getUsername())
+                .bind("usernameNormalized", AuthUserEntity.normalizeIdentifier(user.getUsername()))
+                .bind("passwordHash", user.getPassword())
+                .bind("enabled", user.isEnabled())
+                .bind("locked", user.isLocked())
+                .bind("accountExpired", user.isAccountExpired())
+                .bind("credentialsExpired", user.isCredentialsExpired())
+                .bind("updatedAt", LocalDateTime.now())
+                .fetch().rowsUpdated()
+                .flatMap(updated -> updated == 0
+                        ? Mono.<Long>error(new IllegalArgumentException("User not found with ID: " + user.getId()))
+                        : Mono.just(updated))
+                .then(databaseClient.sql("DELETE FROM auth_user_roles WHERE user_id = :id").bind("id", id).fetch().rowsUpdated())
+                .then(insertRoles(user))
+                .thenReturn(user)
+                .as(transactionalOperator::transactional)
+                .onErrorMap(DataIntegrityViolationException.class, e -> translateConstraintViolation(user, e))
+                .toFuture();
+    }
+
+    private Mono<Optional<GenericUser<R>>> findOne(String condition, Object value) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM auth_users WHERE " + condition)
+                .bind("value", value)
+                .map(this::toUser)
+                .one()
+                .flatMap(user -> findRoleNames(user.getId()).map(roles -> {
+                    user.setRoles(roles);
+                    return user;
+                }))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<Boolean> exists(String condition, Object value) {
+        return databaseClient.sql("SELECT 1 FROM auth_users WHERE " + condition + " LIMIT 1")
+                .bind("value", value)
+                .map(row -> Boolean.TRUE)
+                .one()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mono<Set<R>> findRoleNames(UserId userId) {
+        return databaseClient.sql("SELECT r.name FROM auth_user_roles ur JOIN auth_roles r ON r.id = ur.role_id "
+                        + "WHERE ur.user_id = :id")
+                .bind("id", userId.toBytes())
+                .map(row -> (R) row.get("name", String.class))
+                .all()
+                .collect(HashSet::new, Set::add);
+    }
+
+    private GenericUser<R> toUser(Readable row) {
+        return GenericUser.<R>builder()
+                .id(UserId.fromBytes(row.get("id", byte[].class)))
+                .email(Email.of(row.get("email", String.class)))
+                .username(row.get("username", String.class))
+                .password(Password.fromEncoded(row.get("password_hash", String.class)))
+                .enabled(Boolean.TRUE.equals(row.get("enabled", Boolean.class)))
+                .locked(Boolean.TRUE.equals(row.get("locked", Boolean.class)))
+                .accountExpired(Boolean.TRUE.equals(row.get("account_expired", Boolean.class)))
+                .credentialsExpired(Boolean.TRUE.equals(row.get("credentials_expired", Boolean.class)))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * Links the user to its roles by name, creating unknown roles once and caching their ids.
+     */
+    private Mono<Void> insertRoles(GenericUser<R> user) {
+        if (user.getRoles() == null || user.getRoles().isEmpty()) {
+            return Mono.empty();
+        }
+        byte[] id = user.getId().toBytes();
+        return Flux.fromIterable(user.getRoles())
+                .map(Object::toString)
+                .concatMap(this::resolveRoleId)
+                .concatMap(roleId -> databaseClient.sql("INSERT INTO auth_user_roles (user_id, role_id) VALUES (:userId, :roleId)")
+                        .bind("userId", id)
+                        .bind("roleId", roleId)
+                        .fetch().rowsUpdated())
+                .then();
+    }
+
+    private Mono<Long> resolveRoleId(String roleName) {
+        Long cached = roleIds.getIfPresent(roleName);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        Mono<Long> lookup = databaseClient.sql("SELECT id FROM auth_roles WHERE name = :name")
+                .bind("name", roleName)
+                .map(row -> row.get("id", Long.class))
+                .one();
+        return lookup
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("Creating new role: {}", roleName);
+                    return databaseClient.sql("INSERT INTO auth_roles (name, description) VALUES (:name, :description)")
+                            .bind("name", roleName)
+                            .bind("description", "Auto-created role")
+                            .fetch().rowsUpdated()
+                            .then(lookup);
+                }))
+                .doOnNext(roleId -> roleIds.put(roleName, roleId));
+    }
+
+    /**
+     * Maps a unique constraint violation to the field that collided.
+     */
+    private static RuntimeException translateConstraintViolation(GenericUser<?> user, DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase();
+        if (message.contains(AuthUserEntity.UK_EMAIL)) {
+            return new UserAlreadyExistsException("User with email " + user.getEmail() + " already exists",
+                    UserAlreadyExistsException.FIELD_EMAIL, e);
+        }
+        if (message.contains(AuthUserEntity.UK_USERNAME_NORMALIZED) || message.contains(AuthUserEntity.UK_USERNAME)) {
+            return new UserAlreadyExistsException("User with username " + user.getUsername() + " already exists",
+                    UserAlreadyExistsException.FIELD_USERNAME, e);
+        }
+        return new UserAlreadyExistsException("User already exists", e);
+    }
+}
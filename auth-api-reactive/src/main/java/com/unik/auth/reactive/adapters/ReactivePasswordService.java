@@ -0,0 +1,50 @@
+package com.unik.auth.reactive.adapters;
+
+import com.unik.auth.ports.output.AsyncPasswordServicePort;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * BCrypt hashing on a bounded scheduler, so CPU-bound rounds never run on an event-loop thread
+ * and cannot starve request handling.
+ */
+@Component
+public class ReactivePasswordService implements AsyncPasswordServicePort, DisposableBean {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final Scheduler hashingScheduler;
+
+    public ReactivePasswordService(@Value("${security.password.hashing-threads:0}") int hashingThreads) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingScheduler = Schedulers.newParallel("password-hashing", threads, true);
+    }
+
+    @Override
+    public CompletionStage<String> encodeAsync(String rawPassword) {
+        return Mono.fromCallable(() -> encoder.encode(rawPassword))
+                .subscribeOn(hashingScheduler)
+                .toFuture();
+    }
+
+    /**
+     * Returns true on a mismatch, like the synchronous password service.
+     */
+    @Override
+    public CompletionStage<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return Mono.fromCallable(() -> !encoder.matches(rawPassword, encodedPassword))
+                .subscribeOn(hashingScheduler)
+                .toFuture();
+    }
+
+    @Override
+    public void destroy() {
+        hashingScheduler.dispose();
+    }
+}
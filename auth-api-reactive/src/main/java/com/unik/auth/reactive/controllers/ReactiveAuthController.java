@@ -0,0 +1,79 @@
+package com.unik.auth.reactive.controllers;
+
+import com.unik.auth.reactive.dto.AuthResponseDTO;
+import com.unik.auth.reactive.dto.AvailabilityResponseDTO;
+import com.unik.auth.reactive.dto.LoginRequestDTO;
+import com.unik.auth.reactive.dto.LogoutRequestDTO;
+import com.unik.auth.reactive.dto.RegisterRequestDTO;
+import com.unik.auth.reactive.service.ReactiveAuthenticationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking mirror of the servlet {@code AuthController}, on the same paths and payloads.
+ */
+@RestController
+@RequestMapping("${api.auth.base-path:/api/auth}")
+@RequiredArgsConstructor
+public class ReactiveAuthController<R> {
+    private final ReactiveAuthenticationService<R> authService;
+
+    @Value("${api.auth.token-type:Bearer}")
+    private String tokenType;
+
+    @PostMapping("${api.auth.register-path:/register}")
+    public Mono<ResponseEntity<AuthResponseDTO>> register(@Validated @RequestBody RegisterRequestDTO<R> request) {
+        return authService.registerUser(request.getEmail(), request.getUsername(), request.getPassword(), request.getRoles())
+                .flatMap(result -> result.isSuccess()
+                        ? Mono.just(ResponseEntity.ok(new AuthResponseDTO(result.getAccessToken(), result.getRefreshToken(), tokenType)))
+                        : Mono.error(result.getFailureReason().exception(result.getMessage())));
+    }
+
+    @PostMapping("${api.auth.login-path:/login}")
+    public Mono<ResponseEntity<AuthResponseDTO>> login(@Validated @RequestBody LoginRequestDTO request, ServerHttpRequest httpRequest) {
+        return authService.authenticate(request.getUsernameOrEmail(), request.getPassword(),
+                        httpRequest.getHeaders().getFirst(HttpHeaders.USER_AGENT), remoteAddress(httpRequest))
+                .flatMap(result -> result.isSuccess()
+                        ? Mono.just(ResponseEntity.ok(new AuthResponseDTO(result.getAccessToken(), result.getRefreshToken(), tokenType)))
+                        : Mono.error(result.getFailureReason().exception()));
+    }
+
+    @PostMapping("${api.auth.logout-path:/logout}")
+    public Mono<ResponseEntity<Void>> logout(@RequestBody LogoutRequestDTO logoutRequestDTO) {
+        return authService.logout(logoutRequestDTO.getRefreshToken())
+                .flatMap(result -> result.isSuccess()
+                        ? Mono.just(ResponseEntity.ok().<Void>build())
+                        : Mono.error(result.getFailureReason().exception()));
+    }
+
+    @GetMapping("${api.auth.availability-path:/availability}")
+    public Mono<ResponseEntity<AvailabilityResponseDTO>> availability(@RequestParam(required = false) String username, @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return Mono.just(ResponseEntity.badRequest().body(new AvailabilityResponseDTO(null, null, "error: username or email is required")));
+        }
+        return authService.checkAvailability(username, email)
+                .map(result -> ResponseEntity.ok(new AvailabilityResponseDTO(result.getUsernameAvailable(), result.getEmailAvailable(), result.getMessage())));
+    }
+
+    @PostMapping("${api.auth.check-path:/check}")
+    public Mono<ResponseEntity<Boolean>> checkAuth(@RequestHeader("Authorization") String authorizationHeader) {
+        String accessToken = authorizationHeader.replace("Bearer ", "");
+        if (accessToken.isBlank()) {
+            return Mono.just(ResponseEntity.status(401).body(false));
+        }
+        return authService.isAuthenticated(accessToken)
+                .map(authenticated -> authenticated ? ResponseEntity.ok(true) : ResponseEntity.status(401).body(false));
+    }
+
+    static String remoteAddress(ServerHttpRequest request) {
+        return request.getRemoteAddress() != null && request.getRemoteAddress().getAddress() != null
+                ? request.getRemoteAddress().getAddress().getHostAddress()
+                : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.unik.auth.reactive.controllers;
+
+import com.unik.auth.domain.exceptions.AuthFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Error responses of the reactive API, with the same statuses and body as the servlet API.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> handleValidationException(WebExchangeBindException ex) {
+        Map<String, Object> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+            errors.put(error.getField(), error.getDefaultMessage())
+        );
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", 400);
+        response.put("error", "Validation failed");
+        response.put("details", errors);
+        return response;
+    }
+
+    @ExceptionHandler(AuthFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleAuthFailure(AuthFailureException ex) {
+        HttpStatus status = HttpStatus.valueOf(ex.getReason().getHttpStatus());
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", status.value());
+        response.put("error", status.getReasonPhrase());
+        response.put("code", ex.getReason().name());
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
+}
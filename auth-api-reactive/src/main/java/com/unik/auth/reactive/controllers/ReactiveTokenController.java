@@ -0,0 +1,36 @@
+package com.unik.auth.reactive.controllers;
+
+import com.unik.auth.reactive.dto.AuthResponseDTO;
+import com.unik.auth.reactive.dto.TokenRefreshRequestDTO;
+import com.unik.auth.reactive.service.ReactiveAuthenticationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking mirror of the servlet {@code TokenController}.
+ */
+@RestController
+@RequestMapping("${api.token.base-path:/api/token}")
+@RequiredArgsConstructor
+public class ReactiveTokenController<R> {
+    private final ReactiveAuthenticationService<R> authService;
+
+    @Value("${api.auth.token-type:Bearer}")
+    private String tokenType;
+
+    @PostMapping("${api.token.refresh-path:/refresh}")
+    public Mono<ResponseEntity<AuthResponseDTO>> refresh(@Validated @RequestBody TokenRefreshRequestDTO request,
+                                                         ServerHttpRequest httpRequest) {
+        return authService.refreshToken(request.getRefreshToken(),
+                        httpRequest.getHeaders().getFirst(HttpHeaders.USER_AGENT), ReactiveAuthController.remoteAddress(httpRequest))
+                .flatMap(result -> result.isSuccess()
+                        ? Mono.just(ResponseEntity.ok(new AuthResponseDTO(result.getAccessToken(), request.getRefreshToken(), tokenType)))
+                        : Mono.error(result.getFailureReason().exception()));
+    }
+}
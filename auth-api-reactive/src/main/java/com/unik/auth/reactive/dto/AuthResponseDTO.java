@@ -0,0 +1,12 @@
+package com.unik.auth.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AuthResponseDTO {
+    private String accessToken;
+    private String refreshToken;
+    private String tokenType;
+}
@@ -0,0 +1,12 @@
+package com.unik.auth.reactive.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AvailabilityResponseDTO {
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+    private String message;
+}
@@ -0,0 +1,13 @@
+package com.unik.auth.reactive.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class LoginRequestDTO {
+    @NotBlank
+    private String usernameOrEmail;
+
+    @NotBlank
+    private String password;
+}
@@ -0,0 +1,8 @@
+package com.unik.auth.reactive.dto;
+
+import lombok.Data;
+
+@Data
+public class LogoutRequestDTO {
+    private String refreshToken;
+}
@@ -0,0 +1,22 @@
+package com.unik.auth.reactive.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.Set;
+
+@Data
+public class RegisterRequestDTO<R> {
+    @Email
+    @NotBlank
+    private String email;
+
+    @NotBlank
+    private String username;
+
+    @NotBlank
+    private String password;
+
+    private Set<R> roles;
+}
@@ -0,0 +1,10 @@
+package com.unik.auth.reactive.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class TokenRefreshRequestDTO {
+    @NotBlank
+    private String refreshToken;
+}
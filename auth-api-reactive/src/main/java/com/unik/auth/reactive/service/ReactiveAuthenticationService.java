@@ -0,0 +1,254 @@
+package com.unik.auth.reactive.service;
+
+import com.unik.auth.application.services.AuthenticationResult;
+import com.unik.auth.application.services.TokenRefreshResult;
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.exceptions.AuthFailureReason;
+import com.unik.auth.domain.exceptions.AuthenticationException;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.domain.valueobjects.Password;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.input.dto.response.AvailabilityResult;
+import com.unik.auth.ports.input.dto.response.LogoutResult;
+import com.unik.auth.ports.output.AsyncPasswordServicePort;
+import com.unik.auth.ports.output.AsyncUserRepositoryPort;
+import com.unik.auth.ports.output.SessionRegistryPort;
+import com.unik.auth.ports.output.TokenServicePort;
+import com.unik.auth.ports.output.UserFactoryPort;
+import com.unik.auth.ports.output.dto.SessionInfo;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Non-blocking counterpart of {@link com.unik.auth.application.services.GenericAuthenticationService}
+ * composed from the async output ports. Database calls are non-blocking and password hashing runs on a
+ * bounded scheduler. Token checks consult the token epoch and the session registry, whose Redis calls
+ * block, so they run on the bounded elastic scheduler rather than the event loop.
+ */
+@Slf4j
+@Component
+public class ReactiveAuthenticationService<R> {
+
+    private final AsyncUserRepositoryPort<GenericUser<R>, R> userRepository;
+    private final AsyncPasswordServicePort passwordService;
+    private final TokenServicePort<GenericUser<R>, R> tokenService;
+    private final UserFactoryPort<GenericUser<R>, R> userFactory;
+    private final SessionRegistryPort sessionRegistry;
+    private final Duration registrationDeadline;
+
+    public ReactiveAuthenticationService(
+            AsyncUserRepositoryPort<GenericUser<R>, R> userRepository,
+            AsyncPasswordServicePort passwordService,
+            TokenServicePort<GenericUser<R>, R> tokenService,
+            UserFactoryPort<GenericUser<R>, R> userFactory,
+            SessionRegistryPort sessionRegistry,
+            @Value("${security.registration.deadline-ms:5000}") long registrationDeadlineMillis
+    ) {
+        this.userRepository = userRepository;
+        this.passwordService = passwordService;
+        this.tokenService = tokenService;
+        this.userFactory = userFactory;
+        this.sessionRegistry = sessionRegistry;
+        this.registrationDeadline = Duration.ofMillis(registrationDeadlineMillis);
+    }
+
+    /**
+     * Registers a new user. The email check, the username check and password hashing run concurrently;
+     * the first failure cancels the others. Duplicates are finally decided by the unique constraints.
+     */
+    public Mono<AuthenticationResult<GenericUser<R>>> registerUser(String email, String username, String password, Set<R> roles) {
+        if (username == null || username.isBlank()) {
+            return Mono.just(AuthenticationResult.failure(AuthFailureReason.INVALID_REQUEST, "Username is required"));
+        }
+        if (!Email.isValid(email)) {
+            return Mono.just(AuthenticationResult.failure(AuthFailureReason.INVALID_REQUEST, "Invalid email format: " + email));
+        }
+        Email validEmail = Email.of(email);
+        Password validPassword;
+        try {
+            validPassword = Password.of(password);
+        } catch (AuthenticationException e) {
+            return Mono.just(AuthenticationResult.failure(AuthFailureReason.of(e), e.getMessage()));
+        }
+
+        Mono<Boolean> emailFree = Mono.fromCompletionStage(() -> userRepository.existsByEmail(validEmail))
+                .flatMap(taken -> taken ? Mono.error(AuthFailureReason.EMAIL_TAKEN.exception()) : Mono.just(true));
+        Mono<Boolean> usernameFree = Mono.fromCompletionStage(() -> userRepository.existsByUsername(username))
+                .flatMap(taken -> taken ? Mono.error(AuthFailureReason.USERNAME_TAKEN.exception()) : Mono.just(true));
+        Mono<String> encodedPassword = Mono.fromCompletionStage(() -> passwordService.encodeAsync(validPassword.getValue()));
+
+        return Mono.zip(emailFree, usernameFree, encodedPassword)
+                .timeout(registrationDeadline)
+                .flatMap(checks -> {
+                    GenericUser<R> user = userFactory.createUser(
+                            validEmail, username, Password.fromEncoded(checks.getT3()), roles, null);
+                    return Mono.fromCompletionStage(() -> userRepository.create(user));
+                })
+                .flatMap(savedUser -> {
+                    log.info("User registered successfully with ID: {}", savedUser.getId());
+                    return issueTokens(savedUser, null, null, "User registered successfully");
+                })
+                .onErrorResume(e -> Mono.just(failure("Registration", e)));
+    }
+
+    /**
+     * Authenticates by username or email and password, recording the session with the client's device and address.
+     */
+    public Mono<AuthenticationResult<GenericUser<R>>> authenticate(String usernameOrEmail, String password,
+                                                                   String device, String ipAddress) {
+        if (usernameOrEmail == null || usernameOrEmail.isBlank() || password == null) {
+            return Mono.just(AuthenticationResult.failure(AuthFailureReason.INVALID_CREDENTIALS));
+        }
+        return Mono.fromCompletionStage(() -> userRepository.findByUsername(usernameOrEmail))
+                .flatMap(user -> user.isPresent() || !Email.isValid(usernameOrEmail)
+                        ? Mono.just(user)
+                        : Mono.fromCompletionStage(() -> userRepository.findByEmail(Email.of(usernameOrEmail))))
+                .flatMap(found -> {
+                    if (found.isEmpty()) {
+                        return Mono.just(AuthenticationResult.<GenericUser<R>>failure(AuthFailureReason.INVALID_CREDENTIALS));
+                    }
+                    GenericUser<R> user = found.get();
+                    return Mono.fromCompletionStage(() -> passwordService.matchesAsync(password, user.getPassword()))
+                            .flatMap(mismatch -> {
+                                if (mismatch) {
+                                    return Mono.just(AuthenticationResult.<GenericUser<R>>failure(AuthFailureReason.INVALID_CREDENTIALS));
+                                }
+                                AuthFailureReason status = checkUserStatus(user);
+                                if (status != null) {
+                                    return Mono.just(AuthenticationResult.<GenericUser<R>>failure(status));
+                                }
+                                return issueTokens(user, device, ipAddress, "Authentication successful");
+                            });
+                })
+                .onErrorResume(e -> Mono.just(failure("Authentication", e)));
+    }
+
+    /**
+     * Checks whether a username and/or email is still free, querying both concurrently.
+     */
+    public Mono<AvailabilityResult> checkAvailability(String username, String email) {
+        Mono<Optional<Boolean>> usernameAvailable = username == null || username.isBlank()
+                ? Mono.just(Optional.empty())
+                : Mono.fromCompletionStage(() -> userRepository.existsByUsername(username.trim())).map(taken -> Optional.of(!taken));
+        if (email != null && !email.isBlank() && !Email.isValid(email)) {
+            return usernameAvailable.map(available -> new AvailabilityResult(
+                    available.orElse(null), false, "Invalid email format: " + email));
+        }
+        Mono<Optional<Boolean>> emailAvailable = email == null || email.isBlank()
+                ? Mono.just(Optional.empty())
+                : Mono.fromCompletionStage(() -> userRepository.existsByEmail(Email.of(email))).map(taken -> Optional.of(!taken));
+        return Mono.zip(usernameAvailable, emailAvailable)
+                .map(available -> new AvailabilityResult(available.getT1().orElse(null), available.getT2().orElse(null), null));
+    }
+
+    /**
+     * Returns true if the access token is valid, unexpired and not revoked.
+     */
+    public Mono<Boolean> isAuthenticated(String accessToken) {
+        return Mono.fromCallable(() -> tokenService.isTokenValidAndNotExpired(accessToken))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Issues a new access token for a valid refresh token whose session has not been revoked.
+     * The user is loaded once so the new token is built like one issued at login.
+     */
+    public Mono<TokenRefreshResult> refreshToken(String refreshToken, String device, String ipAddress) {
+        return Mono.fromCallable(() -> {
+            if (!tokenService.isTokenValidAndNotExpired(refreshToken)) {
+                return Optional.<String>empty();
+            }
+            Claims claims = tokenService.extractAllClaims(refreshToken);
+            if (claims.getId() != null && !sessionRegistry.refresh(claims.getSubject(), new SessionInfo(
+                    claims.getId(), device, ipAddress, toInstant(claims.getIssuedAt()), Instant.now(),
+                    toInstant(claims.getExpiration())))) {
+                return Optional.<String>empty();
+            }
+            return Optional.of(claims.getSubject());
+        }).subscribeOn(Schedulers.boundedElastic())
+                .flatMap(userId -> userId
+                        .map(id -> Mono.fromCompletionStage(userRepository.findById(UserId.of(id))))
+                        .orElseGet(() -> Mono.just(Optional.empty())))
+                .flatMap(user -> user
+                        .map(found -> Mono.fromCallable(() -> TokenRefreshResult.success(
+                                        tokenService.generateSessionAccessToken(found, refreshToken)))
+                                .subscribeOn(Schedulers.boundedElastic()))
+                        .orElseGet(() -> Mono.just(TokenRefreshResult.failure(AuthFailureReason.INVALID_TOKEN))));
+    }
+
+    /**
+     * Logs out a user by revoking the session of their refresh token.
+     */
+    public Mono<LogoutResult> logout(String refreshToken) {
+        return Mono.fromCallable(() -> {
+            if (!tokenService.isTokenValidAndNotExpired(refreshToken)) {
+                return LogoutResult.failure(AuthFailureReason.INVALID_TOKEN);
+            }
+            Claims claims = tokenService.extractAllClaims(refreshToken);
+            if (claims.getId() != null) {
+                sessionRegistry.revoke(claims.getSubject(), claims.getId());
+            }
+            tokenService.revokeToken(refreshToken);
+            return LogoutResult.success("User logged out successfully");
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Generates both tokens and records the refresh token as a new session.
+     */
+    private Mono<AuthenticationResult<GenericUser<R>>> issueTokens(GenericUser<R> user, String device, String ipAddress,
+                                                                   String message) {
+        return Mono.fromCallable(() -> {
+            String refreshToken = tokenService.generateRefreshToken(user);
+            Claims claims = tokenService.extractAllClaims(refreshToken);
+            Instant issuedAt = toInstant(claims.getIssuedAt());
+            sessionRegistry.register(user.getId().toString(), new SessionInfo(
+                    claims.getId(), device, ipAddress, issuedAt, issuedAt, toInstant(claims.getExpiration())));
+            return AuthenticationResult.success(user, tokenService.generateSessionAccessToken(user, refreshToken), refreshToken, message);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
+    private AuthenticationResult<GenericUser<R>> failure(String operation, Throwable e) {
+        if (e instanceof TimeoutException) {
+            log.warn("{} missed the {} ms deadline", operation, registrationDeadline.toMillis());
+            return AuthenticationResult.failure(AuthFailureReason.TIMEOUT);
+        }
+        if (e instanceof AuthenticationException) {
+            log.info("{} rejected: {}", operation, e.getMessage());
+            return AuthenticationResult.failure(AuthFailureReason.of(e), e.getMessage());
+        }
+        log.error("{} failed", operation, e);
+        return AuthenticationResult.failure(AuthFailureReason.INTERNAL_ERROR);
+    }
+
+    private AuthFailureReason checkUserStatus(GenericUser<R> user) {
+        if (!user.isEnabled()) {
+            return AuthFailureReason.ACCOUNT_DISABLED;
+        }
+        if (user.isLocked()) {
+            return AuthFailureReason.ACCOUNT_LOCKED;
+        }
+        if (user.isAccountExpired()) {
+            return AuthFailureReason.ACCOUNT_EXPIRED;
+        }
+        if (user.isCredentialsExpired()) {
+            return AuthFailureReason.CREDENTIALS_EXPIRED;
+        }
+        return null;
+    }
+}
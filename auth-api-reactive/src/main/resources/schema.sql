@@ -0,0 +1,32 @@
+-- Schema of the embedded H2 database, matching the tables auth-infra maps with JPA
+
+CREATE TABLE IF NOT EXISTS auth_users (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    username_normalized VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    enabled BOOLEAN NOT NULL,
+    locked BOOLEAN NOT NULL,
+    account_expired BOOLEAN NOT NULL,
+    credentials_expired BOOLEAN NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_auth_users_email UNIQUE (email),
+    CONSTRAINT uk_auth_users_username UNIQUE (username),
+    CONSTRAINT uk_auth_users_username_normalized UNIQUE (username_normalized)
+);
+
+CREATE TABLE IF NOT EXISTS auth_roles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS auth_user_roles (
+    user_id BINARY(16) NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_auth_user_roles_user FOREIGN KEY (user_id) REFERENCES auth_users (id),
+    CONSTRAINT fk_auth_user_roles_role FOREIGN KEY (role_id) REFERENCES auth_roles (id)
+);
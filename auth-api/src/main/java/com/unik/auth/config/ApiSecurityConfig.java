@@ -1,11 +1,15 @@
 package com.unik.auth.config;
 
+import com.unik.auth.ports.output.TokenServicePort;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 public class ApiSecurityConfig {
@@ -16,10 +20,18 @@ public class ApiSecurityConfig {
     @Value("${api.token.base-path:/api/token}")
     private String tokenBasePath;
 
+    /**
+     * Stateless chain: bearer access tokens are verified by {@link JwtAuthenticationFilter}; the filter
+     * is created here rather than as a bean so it runs only inside the security chain.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenServicePort<?, ?> tokenService) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .addFilterBefore(new JwtAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(authBasePath + "/**", tokenBasePath + "/**").permitAll()
                         .anyRequest().authenticated()
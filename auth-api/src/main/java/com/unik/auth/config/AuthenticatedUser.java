@@ -0,0 +1,26 @@
+package com.unik.auth.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Principal of a request authenticated by its access token, built from the token's claims alone.
+ * Available to controllers via {@code @AuthenticationPrincipal} for the rest of the request.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+    private final String userId;
+    private final String username;
+    private final Set<String> roles;
+
+    @Override
+    public String getName() {
+        return userId;
+    }
+}
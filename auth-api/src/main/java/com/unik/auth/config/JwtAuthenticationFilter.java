@@ -0,0 +1,60 @@
+package com.unik.auth.config;
+
+import com.unik.auth.ports.output.TokenServicePort;
+import com.unik.auth.ports.output.dto.AccessTokenClaims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Authenticates requests carrying a bearer access token. The token is verified once per request
+ * and the principal and authorities are taken from its claims, so no user is loaded from the database.
+ * A missing or invalid token leaves the request anonymous; protected routes then answer 401.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final TokenServicePort<?, ?> tokenService;
+
+    public JwtAuthenticationFilter(TokenServicePort<?, ?> tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<AccessTokenClaims> claims = tokenService.verifyAccessToken(header.substring(BEARER_PREFIX.length()).trim());
+            claims.ifPresent(JwtAuthenticationFilter::authenticate);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static void authenticate(AccessTokenClaims claims) {
+        List<GrantedAuthority> authorities = new ArrayList<>(claims.getRoles().size());
+        for (String role : claims.getRoles()) {
+            authorities.add(new SimpleGrantedAuthority(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role));
+        }
+        AuthenticatedUser principal = new AuthenticatedUser(claims.getUserId(), claims.getUsername(), claims.getRoles());
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities));
+        SecurityContextHolder.setContext(context);
+    }
+}
@@ -0,0 +1,48 @@
+package com.unik.auth.config;
+
+import com.unik.auth.adapters.persistence.ReadConsistencyContext;
+import com.unik.auth.adapters.persistence.ReadConsistencyTokens;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Carries the read-your-writes consistency token between client and server.
+ * A request that writes a user gets a signed token naming that user in the response header; a client
+ * that sends it back within the pin window has lookups of that user served by the primary instead of a
+ * replica. Other lookups, and requests with a missing or forged token, stay on the replicas.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    private final ReadConsistencyTokens consistencyTokens;
+
+    @Value("${persistence.read-replicas.token-header:X-Consistency-Token}")
+    private String tokenHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ReadConsistencyContext.begin(consistencyTokens.verify(request.getHeader(tokenHeader)), keys -> {
+            if (!response.isCommitted()) {
+                response.setHeader(tokenHeader, consistencyTokens.issue(keys));
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadConsistencyContext.clear();
+        }
+    }
+}
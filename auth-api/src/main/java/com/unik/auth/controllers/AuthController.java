@@ -1,11 +1,14 @@
 package com.unik.auth.controllers;
 
+import com.unik.auth.config.AuthenticatedUser;
 import com.unik.auth.domain.entities.BaseUser;
 import com.unik.auth.dto.AuthResponseDTO;
+import com.unik.auth.dto.AvailabilityResponseDTO;
 import com.unik.auth.dto.LoginRequestDTO;
 import com.unik.auth.dto.LogoutRequestDTO;
 import com.unik.auth.dto.RegisterRequestDTO;
 import com.unik.auth.ports.input.AuthenticateUserPort;
+import com.unik.auth.ports.input.CheckAvailabilityPort;
 import com.unik.auth.ports.input.RegisterLogoutUserPort;
 import com.unik.auth.ports.input.dto.request.RegisterUserRequest;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,9 +16,12 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -26,27 +32,29 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController<U extends BaseUser<R>, R> {
     private final RegisterLogoutUserPort<U, R> registerLogoutUserPort;
     private final AuthenticateUserPort<U, R> authenticateUserUseCase;
+    private final CheckAvailabilityPort checkAvailabilityPort;
 
     @Value("${api.auth.token-type:Bearer}")
     private String tokenType;
 
-    @Operation(summary = "Register a new user", description = "Registers a new user and returns access and refresh tokens.", responses = {@ApiResponse(responseCode = "200", description = "User registered successfully", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class))), @ApiResponse(responseCode = "400", description = "Invalid input or registration error", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class)))})
+    @Operation(summary = "Register a new user", description = "Registers a new user and returns access and refresh tokens.", responses = {@ApiResponse(responseCode = "200", description = "User registered successfully", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class))), @ApiResponse(responseCode = "400", description = "Invalid input"), @ApiResponse(responseCode = "409", description = "Email or username already registered")})
     @PostMapping("${api.auth.register-path:/register}")
     public ResponseEntity<AuthResponseDTO> register(@Validated @RequestBody RegisterRequestDTO<R> request) {
         var regReq = new RegisterUserRequest<R>(request.getEmail(), request.getUsername(), request.getPassword(), request.getRoles(), null);
         var result = registerLogoutUserPort.registerUser(regReq);
         if (!result.isSuccess()) {
-            return ResponseEntity.badRequest().body(new AuthResponseDTO(null, null, "error: " + result.getMessage()));
+            throw result.getFailureReason().exception(result.getMessage());
         }
         return ResponseEntity.ok(new AuthResponseDTO(result.getAccessToken(), result.getRefreshToken(), tokenType));
     }
 
-    @Operation(summary = "Authenticate a user", description = "Authenticates a user and returns access and refresh tokens.", responses = {@ApiResponse(responseCode = "200", description = "User authenticated successfully", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class))), @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class)))})
+    @Operation(summary = "Authenticate a user", description = "Authenticates a user and returns access and refresh tokens.", responses = {@ApiResponse(responseCode = "200", description = "User authenticated successfully", content = @Content(schema = @Schema(implementation = AuthResponseDTO.class))), @ApiResponse(responseCode = "401", description = "Invalid credentials"), @ApiResponse(responseCode = "403", description = "Account disabled or expired"), @ApiResponse(responseCode = "423", description = "Account locked")})
     @PostMapping("${api.auth.login-path:/login}")
-    public ResponseEntity<AuthResponseDTO> login(@Validated @RequestBody LoginRequestDTO request) {
-        var result = authenticateUserUseCase.authenticateWithUsernamePassword(request.getUsernameOrEmail(), request.getPassword());
+    public ResponseEntity<AuthResponseDTO> login(@Validated @RequestBody LoginRequestDTO request, HttpServletRequest httpRequest) {
+        var result = authenticateUserUseCase.authenticateWithUsernamePassword(request.getUsernameOrEmail(), request.getPassword(),
+                httpRequest.getHeader(HttpHeaders.USER_AGENT), httpRequest.getRemoteAddr());
         if (!result.isSuccess()) {
-            return ResponseEntity.status(401).body(new AuthResponseDTO(null, null, "error: " + result.getMessage()));
+            throw result.getFailureReason().exception();
         }
         return ResponseEntity.ok(new AuthResponseDTO(result.getAccessToken(), result.getRefreshToken(), tokenType));
     }
@@ -56,14 +64,29 @@ public class AuthController<U extends BaseUser<R>, R> {
     public ResponseEntity<Void> logout(@RequestBody LogoutRequestDTO logoutRequestDTO) {
         var result = registerLogoutUserPort.logoutUser(logoutRequestDTO.getRefreshToken());
         if (!result.isSuccess()) {
-            return ResponseEntity.status(401).build();
+            throw result.getFailureReason().exception();
         }
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Check availability", description = "Checks whether a username and/or email is still available for registration.", responses = {@ApiResponse(responseCode = "200", description = "Availability checked", content = @Content(schema = @Schema(implementation = AvailabilityResponseDTO.class))), @ApiResponse(responseCode = "400", description = "Neither username nor email was provided")})
+    @GetMapping("${api.auth.availability-path:/availability}")
+    public ResponseEntity<AvailabilityResponseDTO> availability(@RequestParam(required = false) String username, @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            return ResponseEntity.badRequest().body(new AvailabilityResponseDTO(null, null, "error: username or email is required"));
+        }
+        var result = checkAvailabilityPort.checkAvailability(username, email);
+        return ResponseEntity.ok(new AvailabilityResponseDTO(result.getUsernameAvailable(), result.getEmailAvailable(), result.getMessage()));
+    }
+
     @Operation(summary = "Auth check", description = "Checks if the user is authenticated based on the accessToken from headers.", responses = {@ApiResponse(responseCode = "200", description = "User is authenticated"), @ApiResponse(responseCode = "401", description = "User is not authenticated")})
     @PostMapping("${api.auth.check-path:/check}")
-    public ResponseEntity<Boolean> checkAuth(@RequestHeader("Authorization") String authorizationHeader) {
+    public ResponseEntity<Boolean> checkAuth(@RequestHeader("Authorization") String authorizationHeader,
+                                             @AuthenticationPrincipal AuthenticatedUser principal) {
+        // Already verified by the JWT filter for this request
+        if (principal != null) {
+            return ResponseEntity.ok(true);
+        }
         String accessToken = authorizationHeader.replace("Bearer ", "");
         if (accessToken.isBlank()) {
             return ResponseEntity.status(401).body(false);
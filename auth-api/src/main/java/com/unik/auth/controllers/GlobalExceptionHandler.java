@@ -6,6 +6,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import com.unik.auth.domain.exceptions.AuthFailureException;
 import com.unik.auth.domain.exceptions.AuthenticationException;
 import java.util.HashMap;
 import java.util.Map;
@@ -27,6 +29,22 @@ public class GlobalExceptionHandler {
         return response;
     }
 
+    /**
+     * Maps result-typed authentication failures to their HTTP status. These exceptions are stackless
+     * and mostly preallocated, and are not logged: failed logins are expected traffic.
+     */
+    @ExceptionHandler(AuthFailureException.class)
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> handleAuthFailure(AuthFailureException ex) {
+        HttpStatus status = HttpStatus.valueOf(ex.getReason().getHttpStatus());
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", status.value());
+        response.put("error", status.getReasonPhrase());
+        response.put("code", ex.getReason().name());
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
+
     @ExceptionHandler(AuthenticationException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     @ResponseBody
@@ -0,0 +1,70 @@
+package com.unik.auth.controllers;
+
+import com.unik.auth.application.services.GenericAuthenticationService;
+import com.unik.auth.config.AuthenticatedUser;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.dto.SessionDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("${api.sessions.base-path:/api/sessions}")
+@RequiredArgsConstructor
+@Tag(name = "Sessions", description = "Endpoints for listing and signing out the current user's sessions.")
+public class SessionController<U extends BaseUser<R>, R> {
+    private final GenericAuthenticationService<U, R> authService;
+
+    @Operation(summary = "List sessions", description = "Lists the current user's active sessions, most recent first.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Active sessions",
+                content = @Content(array = @ArraySchema(schema = @Schema(implementation = SessionDTO.class)))),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid access token")
+        })
+    @GetMapping
+    public ResponseEntity<List<SessionDTO>> list(@AuthenticationPrincipal AuthenticatedUser principal) {
+        List<SessionDTO> sessions = authService.listSessions(principal.getUserId()).stream()
+                .map(session -> new SessionDTO(session.getSessionId(), session.getDevice(), session.getIpAddress(),
+                        session.getCreatedAt(), session.getLastSeenAt(), session.getExpiresAt()))
+                .toList();
+        return ResponseEntity.ok(sessions);
+    }
+
+    @Operation(summary = "Revoke a session", description = "Signs out one device: its refresh token stops working immediately.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Session revoked"),
+            @ApiResponse(responseCode = "400", description = "No such active session"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid access token")
+        })
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> revoke(@AuthenticationPrincipal AuthenticatedUser principal, @PathVariable String sessionId) {
+        var result = authService.revokeSession(principal.getUserId(), sessionId);
+        if (!result.isSuccess()) {
+            throw result.getFailureReason().exception();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Revoke all sessions", description = "Signs out every device, including all outstanding access tokens.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "All sessions revoked"),
+            @ApiResponse(responseCode = "401", description = "Missing or invalid access token")
+        })
+    @DeleteMapping
+    public ResponseEntity<Void> revokeAll(@AuthenticationPrincipal AuthenticatedUser principal) {
+        var result = authService.revokeAllTokens(principal.getUserId());
+        if (!result.isSuccess()) {
+            throw result.getFailureReason().exception();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -9,8 +9,10 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -29,14 +31,14 @@ public class TokenController<U extends BaseUser<R>, R> {
         responses = {
             @ApiResponse(responseCode = "200", description = "Token refreshed successfully",
                 content = @Content(schema = @Schema(implementation = AuthResponseDTO.class))),
-            @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token",
-                content = @Content(schema = @Schema(implementation = AuthResponseDTO.class)))
+            @ApiResponse(responseCode = "401", description = "Invalid or expired refresh token")
         })
     @PostMapping("${api.token.refresh-path:/refresh}")
-    public ResponseEntity<AuthResponseDTO> refresh(@Validated @RequestBody TokenRefreshRequestDTO request) {
-        var result = authService.refreshToken(request.getRefreshToken());
+    public ResponseEntity<AuthResponseDTO> refresh(@Validated @RequestBody TokenRefreshRequestDTO request, HttpServletRequest httpRequest) {
+        var result = authService.refreshToken(request.getRefreshToken(),
+                httpRequest.getHeader(HttpHeaders.USER_AGENT), httpRequest.getRemoteAddr());
         if (!result.isSuccess()) {
-            return ResponseEntity.status(401).body(new AuthResponseDTO(null, null, "error: " + result.getMessage()));
+            throw result.getFailureReason().exception();
         }
         return ResponseEntity.ok(new AuthResponseDTO(result.getAccessToken(), request.getRefreshToken(), tokenType));
     }
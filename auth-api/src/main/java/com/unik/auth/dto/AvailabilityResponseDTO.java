@@ -0,0 +1,19 @@
+package com.unik.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(name = "AvailabilityResponseDTO", description = "Response payload for username and email availability checks.")
+public class AvailabilityResponseDTO {
+    @Schema(description = "Whether the username is available, or null if it was not checked", example = "true")
+    private Boolean usernameAvailable;
+
+    @Schema(description = "Whether the email is available, or null if it was not checked", example = "false")
+    private Boolean emailAvailable;
+
+    @Schema(description = "Additional information, e.g. why an email was rejected", example = "Invalid email format: foo")
+    private String message;
+}
@@ -0,0 +1,30 @@
+package com.unik.auth.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@Schema(name = "SessionDTO", description = "An active session of the current user.")
+public class SessionDTO {
+    @Schema(description = "Session ID, the ID of the session's refresh token", example = "1f0e4a52-3c1b-4f3e-9a4e-6d2b8f1c7a90")
+    private String id;
+
+    @Schema(description = "User agent the session was last used from", example = "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_4)")
+    private String device;
+
+    @Schema(description = "Client address the session was last used from", example = "203.0.113.7")
+    private String ipAddress;
+
+    @Schema(description = "When the session was created")
+    private Instant createdAt;
+
+    @Schema(description = "When the session's refresh token was last used")
+    private Instant lastSeenAt;
+
+    @Schema(description = "When the session expires")
+    private Instant expiresAt;
+}
@@ -1,6 +1,7 @@
 package com.unik.auth.application.services;
 
 import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.exceptions.AuthFailureReason;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,17 +19,26 @@ public class AuthenticationResult<U extends BaseUser<?>> {
     private String refreshToken;
     private String message;
     private String errorCode;
+    private AuthFailureReason failureReason;
 
     public static <U extends BaseUser<?>> AuthenticationResult<U> success(U user, String accessToken,
                                                                           String refreshToken, String message) {
-        return new AuthenticationResult<>(true, user, accessToken, refreshToken, message, null);
+        return new AuthenticationResult<>(true, user, accessToken, refreshToken, message, null, null);
     }
 
     public static <U extends BaseUser<?>> AuthenticationResult<U> failure(String message) {
-        return new AuthenticationResult<>(false, null, null, null, message, null);
+        return new AuthenticationResult<>(false, null, null, null, message, null, null);
     }
 
     public static <U extends BaseUser<?>> AuthenticationResult<U> failure(String message, String errorCode) {
-        return new AuthenticationResult<>(false, null, null, null, message, errorCode);
+        return new AuthenticationResult<>(false, null, null, null, message, errorCode, null);
+    }
+
+    public static <U extends BaseUser<?>> AuthenticationResult<U> failure(AuthFailureReason reason) {
+        return failure(reason, reason.getMessage());
+    }
+
+    public static <U extends BaseUser<?>> AuthenticationResult<U> failure(AuthFailureReason reason, String message) {
+        return new AuthenticationResult<>(false, null, null, null, message, reason.name(), reason);
     }
 }
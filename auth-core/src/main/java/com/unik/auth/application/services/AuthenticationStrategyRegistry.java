@@ -0,0 +1,184 @@
+package com.unik.auth.application.services;
+
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.AuthenticationStrategyPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves credentials types to authentication strategies.
+ * <p>
+ * Strategies are ordered once by {@link AuthenticationStrategyPort#getPriority()}. The dispatch table
+ * is immutable apart from a per-class memo: the first lookup for a credentials class scans the enabled
+ * strategies and every later lookup is a single map read. Enabling or disabling a strategy at runtime
+ * builds a new table and swaps it in atomically, so logins never see a half-updated table.
+ * Each strategy keeps its own invocation counters and latency totals.
+ * </p>
+ */
+@Slf4j
+@Component
+public class AuthenticationStrategyRegistry<U extends BaseUser<R>, R> {
+
+    private final List<StrategyEntry<U, R>> entries;
+    private final AtomicReference<DispatchTable<U, R>> table = new AtomicReference<>();
+
+    public AuthenticationStrategyRegistry(List<AuthenticationStrategyPort<U, R, ?>> strategies) {
+        List<StrategyEntry<U, R>> sorted = new ArrayList<>();
+        for (AuthenticationStrategyPort<U, R, ?> strategy : strategies) {
+            sorted.add(new StrategyEntry<>(strategy));
+        }
+        sorted.sort(Comparator.comparingInt(entry -> entry.priority));
+        this.entries = List.copyOf(sorted);
+        this.table.set(new DispatchTable<>(entries, Map.of()));
+    }
+
+    /**
+     * Returns the strategy for the credentials type, or null if no enabled strategy supports it.
+     * @param credentialsType the credentials class
+     * @return the strategy entry, or null
+     */
+    public StrategyEntry<U, R> resolve(Class<?> credentialsType) {
+        return table.get().resolve(credentialsType);
+    }
+
+    /**
+     * Enables or disables a strategy by name at runtime, overriding its own {@code isEnabled()}.
+     * @param strategyName the strategy name
+     * @param enabled whether the strategy may be dispatched to
+     * @throws IllegalArgumentException if no strategy has the name
+     */
+    public void setEnabled(String strategyName, boolean enabled) {
+        if (entries.stream().noneMatch(entry -> entry.name.equals(strategyName))) {
+            throw new IllegalArgumentException("Unknown authentication strategy: " + strategyName);
+        }
+        table.updateAndGet(current -> {
+            Map<String, Boolean> overrides = new HashMap<>(current.overrides);
+            overrides.put(strategyName, enabled);
+            return new DispatchTable<>(entries, overrides);
+        });
+        log.info("Authentication strategy {} {}", strategyName, enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Rebuilds the dispatch table, re-reading each strategy's {@code isEnabled()}.
+     */
+    public void refresh() {
+        table.updateAndGet(current -> new DispatchTable<>(entries, current.overrides));
+    }
+
+    /**
+     * Returns a snapshot of every strategy's invocation statistics, in dispatch order.
+     * @return the statistics
+     */
+    public List<StrategyStatistics> getStatistics() {
+        DispatchTable<U, R> current = table.get();
+        List<StrategyStatistics> statistics = new ArrayList<>(entries.size());
+        for (StrategyEntry<U, R> entry : entries) {
+            statistics.add(entry.snapshot(current.isEnabled(entry)));
+        }
+        return statistics;
+    }
+
+    /**
+     * Immutable set of enabled strategies with a lazily filled class-to-strategy memo.
+     */
+    private static final class DispatchTable<U extends BaseUser<R>, R> {
+        private static final Object NONE = new Object();
+
+        private final List<StrategyEntry<U, R>> enabled;
+        private final Map<String, Boolean> overrides;
+        private final Map<Class<?>, Object> resolved = new ConcurrentHashMap<>();
+
+        private DispatchTable(List<StrategyEntry<U, R>> entries, Map<String, Boolean> overrides) {
+            this.overrides = Map.copyOf(overrides);
+            List<StrategyEntry<U, R>> active = new ArrayList<>();
+            for (StrategyEntry<U, R> entry : entries) {
+                if (isEnabled(entry)) {
+                    active.add(entry);
+                }
+            }
+            this.enabled = List.copyOf(active);
+        }
+
+        private boolean isEnabled(StrategyEntry<U, R> entry) {
+            return overrides.getOrDefault(entry.name, entry.strategy.isEnabled());
+        }
+
+        @SuppressWarnings("unchecked")
+        private StrategyEntry<U, R> resolve(Class<?> credentialsType) {
+            Object entry = resolved.computeIfAbsent(credentialsType, type -> {
+                for (StrategyEntry<U, R> candidate : enabled) {
+                    if (candidate.supports(type)) {
+                        return candidate;
+                    }
+                }
+                return NONE;
+            });
+            return entry == NONE ? null : (StrategyEntry<U, R>) entry;
+        }
+    }
+
+    /**
+     * A registered strategy with its invocation metrics.
+     */
+    public static final class StrategyEntry<U extends BaseUser<R>, R> {
+        private final AuthenticationStrategyPort<U, R, Object> strategy;
+        private final String name;
+        private final int priority;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        @SuppressWarnings("unchecked")
+        private StrategyEntry(AuthenticationStrategyPort<U, R, ?> strategy) {
+            this.strategy = (AuthenticationStrategyPort<U, R, Object>) strategy;
+            this.name = strategy.getStrategyName();
+            this.priority = strategy.getPriority();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Authenticates with the strategy, recording the outcome and latency.
+         * @param credentials credentials of a type this strategy was resolved for
+         * @return the authenticated user, or empty if rejected
+         */
+        public Optional<U> authenticate(Object credentials) {
+            long start = System.nanoTime();
+            try {
+                Optional<U> user = strategy.authenticate(credentials);
+                (user.isPresent() ? successes : rejections).increment();
+                return user;
+            } catch (RuntimeException e) {
+                errors.increment();
+                throw e;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                invocations.increment();
+                totalNanos.add(elapsed);
+                maxNanos.accumulate(elapsed);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private boolean supports(Class<?> credentialsType) {
+            return ((AuthenticationStrategyPort) strategy).supports(credentialsType);
+        }
+
+        private StrategyStatistics snapshot(boolean enabled) {
+            return new StrategyStatistics(name, priority, enabled, invocations.sum(), successes.sum(),
+                    rejections.sum(), errors.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+}
@@ -7,14 +7,24 @@ import com.unik.auth.domain.valueobjects.Password;
 import com.unik.auth.domain.valueobjects.UserId;
 import com.unik.auth.ports.input.dto.response.LogoutResult;
 import com.unik.auth.ports.output.*;
-import jakarta.transaction.Transactional;
+import com.unik.auth.ports.output.dto.SessionInfo;
+import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
 
 /**
  * Generic authentication service supporting any user and role type.
@@ -24,53 +34,71 @@ import java.util.Optional;
 public class GenericAuthenticationService<U extends BaseUser<R>, R> {
 
     private final UserRepositoryPort<U, R> userRepository;
-    private final List<AuthenticationStrategyPort<U, R, ?>> authenticationStrategies;
+    private final AuthenticationStrategyRegistry<U, R> strategyRegistry;
     private final TokenServicePort<U, R> tokenService;
     private final PasswordServicePort passwordService;
     private final NotificationServicePort<U, R> notificationService;
     private final UserFactoryPort<U, R> userFactory;
+    private final TransactionPort transactionPort;
+    private final AsyncUserRepositoryPort<U, R> asyncUserRepository;
+    private final AsyncPasswordServicePort asyncPasswordService;
+    private final TokenEpochPort tokenEpochs;
+    private final SessionRegistryPort sessionRegistry;
+
+    @Value("${security.registration.deadline-ms:5000}")
+    private long registrationDeadlineMillis;
 
     @Autowired
     public GenericAuthenticationService(
             UserRepositoryPort<U, R> userRepository,
-            List<AuthenticationStrategyPort<U, R, ?>> authenticationStrategies,
+            AuthenticationStrategyRegistry<U, R> strategyRegistry,
             TokenServicePort<U, R> tokenService,
             PasswordServicePort passwordService,
             NotificationServicePort<U, R> notificationService,
-            UserFactoryPort<U, R> userFactory) {
+            UserFactoryPort<U, R> userFactory,
+            TransactionPort transactionPort,
+            AsyncUserRepositoryPort<U, R> asyncUserRepository,
+            AsyncPasswordServicePort asyncPasswordService,
+            TokenEpochPort tokenEpochs,
+            SessionRegistryPort sessionRegistry) {
         this.userRepository = userRepository;
-        this.authenticationStrategies = authenticationStrategies;
+        this.strategyRegistry = strategyRegistry;
         this.tokenService = tokenService;
         this.passwordService = passwordService;
         this.notificationService = notificationService;
         this.userFactory = userFactory;
+        this.transactionPort = transactionPort;
+        this.asyncUserRepository = asyncUserRepository;
+        this.asyncPasswordService = asyncPasswordService;
+        this.tokenEpochs = tokenEpochs;
+        this.sessionRegistry = sessionRegistry;
     }
 
     /**
      * Registers a new user with the specified details.
+     * Runs in phases: validation, then the email check, username check and password hashing in parallel
+     * outside any transaction, then a short transaction that inserts the user and queues the welcome
+     * notification in the outbox for later delivery. A taken email or username cancels the hash.
+     * The checks only fail fast: duplicates are decided by the repository's unique constraints on insert,
+     * which also holds under concurrent signups. Expected failures are returned as a reason, not logged as errors.
      */
-    @Transactional
     public AuthenticationResult<U> registerUser(RegistrationRequest<R> request) {
         try {
-            log.info("Registering user with email: {}", request.getEmail());
-
-            validateRegistrationRequest(request);
-
-            Email email = Email.of(request.getEmail());
-
-            // Check if a user already exists
-            if (userRepository.existsByEmail(email)) {
-                throw new UserAlreadyExistsException("User with email " + request.getEmail() + " already exists");
+            String invalid = validateRegistrationRequest(request);
+            if (invalid != null) {
+                return AuthenticationResult.failure(AuthFailureReason.INVALID_REQUEST, invalid);
             }
 
-            if (userRepository.existsByUsername(request.getUsername())) {
-                throw new UserAlreadyExistsException("User with username " + request.getUsername() + " already exists");
+            log.info("Registering user with email: {}", request.getEmail());
+
+            if (!Email.isValid(request.getEmail())) {
+                return AuthenticationResult.failure(AuthFailureReason.INVALID_REQUEST, "Invalid email format: " + request.getEmail());
             }
+            Email email = Email.of(request.getEmail());
 
-            // Create password value object and encode it
+            // Check availability and hash the password concurrently, bounded by the registration deadline
             Password password = Password.of(request.getPassword());
-            String encodedPassword = passwordService.encode(password.getValue());
-            Password encodedPasswordVO = Password.fromEncoded(encodedPassword);
+            Password encodedPasswordVO = Password.fromEncoded(awaitRegistrationChecks(email, request.getUsername(), password));
 
             // Create user using factory
             U user = userFactory.createUser(
@@ -81,15 +109,17 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
                     request.getAttributes()
             );
 
-            // Save user
-            U savedUser = userRepository.save(user);
+            // Insert user and queue the welcome notification in one short transaction;
+            // fails with UserAlreadyExistsException on a duplicate email or username
+            U savedUser = transactionPort.inTransaction(() -> {
+                U created = userRepository.create(user);
+                notificationService.sendWelcomeNotification(created);
+                return created;
+            });
 
             // Generate tokens
-            String accessToken = tokenService.generateAccessToken(savedUser);
-            String refreshToken = tokenService.generateRefreshToken(savedUser);
-
-            // Send welcome notification
-            notificationService.sendWelcomeNotification(savedUser);
+            String refreshToken = issueRefreshToken(savedUser, null, null);
+            String accessToken = tokenService.generateSessionAccessToken(savedUser, refreshToken);
 
             log.info("User registered successfully with ID: {}", savedUser.getId());
 
@@ -100,41 +130,123 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
                     "User registered successfully"
             );
 
+        } catch (AuthenticationException e) {
+            // Domain rejections (duplicate user, weak password) are expected outcomes
+            log.info("Registration rejected for email: {}: {}", request.getEmail(), e.getMessage());
+            return AuthenticationResult.failure(AuthFailureReason.of(e), e.getMessage());
+        } catch (TimeoutException e) {
+            log.warn("Registration checks for email: {} missed the {} ms deadline", request.getEmail(), registrationDeadlineMillis);
+            return AuthenticationResult.failure(AuthFailureReason.TIMEOUT);
         } catch (Exception e) {
             log.error("Registration failed for email: {}", request.getEmail(), e);
-            return AuthenticationResult.failure(e.getMessage());
+            return AuthenticationResult.failure(AuthFailureReason.INTERNAL_ERROR);
         }
     }
 
+    /**
+     * Registers a new user without blocking the caller.
+     * Runs the same parallel checks as {@link #registerUser}; the insert and the welcome notification
+     * then commit together. The availability checks only fail fast: the unique constraints still decide
+     * concurrent signups.
+     */
+    public CompletionStage<AuthenticationResult<U>> registerUserAsync(RegistrationRequest<R> request) {
+        String invalid = validateRegistrationRequest(request);
+        if (invalid != null) {
+            return CompletableFuture.completedFuture(AuthenticationResult.failure(AuthFailureReason.INVALID_REQUEST, invalid));
+        }
+        if (!Email.isValid(request.getEmail())) {
+            return CompletableFuture.completedFuture(AuthenticationResult.failure(
+                    AuthFailureReason.INVALID_REQUEST, "Invalid email format: " + request.getEmail()));
+        }
+        Email email = Email.of(request.getEmail());
+        Password password;
+        try {
+            password = Password.of(request.getPassword());
+        } catch (AuthenticationException e) {
+            return CompletableFuture.completedFuture(AuthenticationResult.failure(AuthFailureReason.of(e), e.getMessage()));
+        }
+
+        log.info("Registering user with email: {}", request.getEmail());
+
+        return startRegistrationChecks(email, request.getUsername(), password)
+                .thenCompose(encodedPassword -> {
+                    U user = userFactory.createUser(
+                            email,
+                            request.getUsername(),
+                            Password.fromEncoded(encodedPassword),
+                            request.getRoles(),
+                            request.getAttributes()
+                    );
+                    return asyncUserRepository.create(user, notificationService::sendWelcomeNotification)
+                            .thenApply(savedUser -> {
+                                log.info("User registered successfully with ID: {}", savedUser.getId());
+                                String refreshToken = issueRefreshToken(savedUser, null, null);
+                                return AuthenticationResult.success(
+                                        savedUser,
+                                        tokenService.generateSessionAccessToken(savedUser, refreshToken),
+                                        refreshToken,
+                                        "User registered successfully"
+                                );
+                            });
+                })
+                .exceptionally(failure -> {
+                    Throwable cause = unwrap(failure);
+                    if (cause instanceof TimeoutException) {
+                        log.warn("Registration checks for email: {} missed the {} ms deadline", request.getEmail(), registrationDeadlineMillis);
+                        return AuthenticationResult.failure(AuthFailureReason.TIMEOUT);
+                    }
+                    if (cause instanceof AuthenticationException) {
+                        log.info("Registration rejected for email: {}: {}", request.getEmail(), cause.getMessage());
+                        return AuthenticationResult.failure(AuthFailureReason.of(cause), cause.getMessage());
+                    }
+                    log.error("Registration failed for email: {}", request.getEmail(), cause);
+                    return AuthenticationResult.failure(AuthFailureReason.INTERNAL_ERROR);
+                });
+    }
+
     /**
      * Authenticates a user with the given credentials using available strategies.
+     * Rejections are returned as a failure reason without creating or logging exceptions,
+     * so failed logins cost no more than the lookup.
      */
     public <C> AuthenticationResult<U> authenticate(C credentials) {
+        return authenticate(credentials, null, null);
+    }
+
+    /**
+     * Authenticates a user and records the new session with the client's device and address.
+     */
+    public <C> AuthenticationResult<U> authenticate(C credentials, String device, String ipAddress) {
         try {
-            log.info("Authenticating user with credentials type: {}", credentials.getClass().getSimpleName());
+            log.debug("Authenticating user with credentials type: {}", credentials.getClass().getSimpleName());
 
             // Find a suitable authentication strategy
-            AuthenticationStrategyPort<U, R, C> strategy = findAuthenticationStrategy(credentials);
+            AuthenticationStrategyRegistry.StrategyEntry<U, R> strategy = strategyRegistry.resolve(credentials.getClass());
 
             if (strategy == null) {
-                throw new UnsupportedAuthenticationException("No authentication strategy found for credentials type: " + credentials.getClass().getSimpleName());
+                log.debug("No authentication strategy found for credentials type: {}", credentials.getClass().getSimpleName());
+                return AuthenticationResult.failure(AuthFailureReason.UNSUPPORTED_CREDENTIALS);
             }
 
             // Authenticate using strategy
             Optional<U> userOpt = strategy.authenticate(credentials);
 
             if (userOpt.isEmpty()) {
-                throw new InvalidCredentialsException("Invalid credentials provided");
+                return AuthenticationResult.failure(AuthFailureReason.INVALID_CREDENTIALS);
             }
 
             U user = userOpt.get();
 
             // Validate user status
-            validateUserStatus(user);
+            AuthFailureReason statusFailure = checkUserStatus(user);
+            if (statusFailure != null) {
+                log.debug("Authentication rejected for user {}: {}", user.getUsername(), statusFailure);
+                return AuthenticationResult.failure(statusFailure);
+            }
 
             // Generate tokens
-            String accessToken = tokenService.generateAccessToken(user);
-            String refreshToken = tokenService.generateRefreshToken(user);
+            String refreshToken = issueRefreshToken(user, device, ipAddress);
+            String accessToken = tokenService.generateSessionAccessToken(user, refreshToken);
 
             // Update last login
             updateLastLogin(user);
@@ -148,9 +260,12 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
                     "Authentication successful"
             );
 
+        } catch (AuthenticationException e) {
+            log.debug("Authentication rejected: {}", e.getMessage());
+            return AuthenticationResult.failure(AuthFailureReason.of(e));
         } catch (Exception e) {
             log.error("Authentication failed", e);
-            return AuthenticationResult.failure(e.getMessage());
+            return AuthenticationResult.failure(AuthFailureReason.INTERNAL_ERROR);
         }
     }
 
@@ -158,48 +273,68 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
      * Refreshes an access token using a refresh token.
      */
     public TokenRefreshResult refreshToken(String refreshToken) {
+        return refreshToken(refreshToken, null, null);
+    }
+
+    /**
+     * Refreshes an access token, rejecting refresh tokens whose session was revoked,
+     * and records the device and address the session was last seen from.
+     * The user is loaded once so the new token is built like one issued at login.
+     */
+    public TokenRefreshResult refreshToken(String refreshToken, String device, String ipAddress) {
         try {
-            log.info("Refreshing access token");
+            log.debug("Refreshing access token");
 
             if (!tokenService.isTokenValidAndNotExpired(refreshToken)) {
-                throw new InvalidTokenException("Refresh token is invalid or expired");
+                return TokenRefreshResult.failure(AuthFailureReason.INVALID_TOKEN);
             }
 
-            Optional<String> newAccessToken = tokenService.refreshAccessToken(refreshToken);
+            Claims claims = tokenService.extractAllClaims(refreshToken);
+            if (claims.getId() != null && !sessionRegistry.refresh(claims.getSubject(), new SessionInfo(
+                    claims.getId(), device, ipAddress, toInstant(claims.getIssuedAt()), Instant.now(),
+                    toInstant(claims.getExpiration())))) {
+                return TokenRefreshResult.failure(AuthFailureReason.INVALID_TOKEN);
+            }
 
-            if (newAccessToken.isEmpty()) {
-                throw new InvalidTokenException("Failed to refresh access token");
+            // Issue the new token from the current user, as at login, so it carries the session and any user snapshot
+            Optional<U> user = userRepository.findById(UserId.of(claims.getSubject()));
+            if (user.isEmpty()) {
+                return TokenRefreshResult.failure(AuthFailureReason.INVALID_TOKEN);
             }
 
-            log.info("Access token refreshed successfully");
-            return TokenRefreshResult.success(newAccessToken.get());
+            log.debug("Access token refreshed successfully");
+            return TokenRefreshResult.success(tokenService.generateSessionAccessToken(user.get(), refreshToken));
 
         } catch (Exception e) {
             log.error("Token refresh failed", e);
-            return TokenRefreshResult.failure(e.getMessage());
+            return TokenRefreshResult.failure(AuthFailureReason.INTERNAL_ERROR);
         }
     }
 
     /**
-     * Logs out a user by revoking their tokens.
+     * Logs out a user by revoking the session of their refresh token.
      */
     public LogoutResult logout(String refreshToken) {
         try {
-            log.info("Logging out user with refresh token: {}",
-                    refreshToken);
+            log.debug("Logging out user");
             if (!tokenService.isTokenValidAndNotExpired(refreshToken)) {
-                throw new InvalidTokenException("Refresh token is invalid or expired");
+                return LogoutResult.failure(AuthFailureReason.INVALID_TOKEN);
             }
+            Claims claims = tokenService.extractAllClaims(refreshToken);
+            if (claims.getId() != null) {
+                sessionRegistry.revoke(claims.getSubject(), claims.getId());
+            }
+            tokenService.revokeToken(refreshToken);
             //send a success response to a client, and the client will remove the jwt from local storage
             return LogoutResult.success("User logged out successfully");
         } catch (Exception e) {
             log.error("Logout failed", e);
-            return LogoutResult.failure(e.getMessage());
+            return LogoutResult.failure(AuthFailureReason.INTERNAL_ERROR);
         }
     }
 
     /**
-     * Changes a user's password.
+     * Changes a user's password and revokes all of the user's tokens once the change is committed.
      */
     public PasswordChangeResult changePassword(String userId, String currentPassword, String newPassword) {
         try {
@@ -217,12 +352,14 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
             String encodedNewPassword = passwordService.encode(newPasswordVO.getValue());
             Password encodedNewPasswordVO = Password.fromEncoded(encodedNewPassword);
 
-            // Update user password
+            // Update user password and queue the password change notification together
             U updatedUser = userFactory.updatePassword(user, encodedNewPasswordVO);
-            userRepository.update(updatedUser);
-
-            // Send password change notification
-            notificationService.sendPasswordChangeNotification(updatedUser);
+            transactionPort.inTransaction(() -> {
+                userRepository.update(updatedUser);
+                notificationService.sendPasswordChangeNotification(updatedUser);
+                return updatedUser;
+            });
+            revokeEverything(userId);
 
             log.info("Password changed successfully for user: {}", userId);
             return PasswordChangeResult.success("Password changed successfully");
@@ -233,11 +370,70 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
         }
     }
 
+    /**
+     * Revokes every access and refresh token issued to a user so far.
+     */
+    public LogoutResult revokeAllTokens(String userId) {
+        try {
+            findUserById(userId);
+            revokeEverything(userId);
+            return LogoutResult.success("All sessions revoked");
+        } catch (UserNotFoundException e) {
+            return LogoutResult.failure(AuthFailureReason.USER_NOT_FOUND);
+        } catch (Exception e) {
+            log.error("Failed to revoke tokens for user: {}", userId, e);
+            return LogoutResult.failure(AuthFailureReason.INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Lists a user's active sessions, most recently created first.
+     */
+    public List<SessionInfo> listSessions(String userId) {
+        return sessionRegistry.list(userId);
+    }
+
+    /**
+     * Signs out a single session. Its refresh token and the access tokens issued to it stop working at once.
+     */
+    public LogoutResult revokeSession(String userId, String sessionId) {
+        try {
+            if (!sessionRegistry.revoke(userId, sessionId)) {
+                return LogoutResult.failure(AuthFailureReason.INVALID_REQUEST);
+            }
+            tokenService.revokeSession(sessionId);
+            return LogoutResult.success("Session revoked");
+        } catch (Exception e) {
+            log.error("Failed to revoke session {} for user: {}", sessionId, userId, e);
+            return LogoutResult.failure(AuthFailureReason.INTERNAL_ERROR);
+        }
+    }
+
+    /**
+     * Locks a user's account and revokes all of the user's tokens.
+     */
+    public Optional<U> lockUser(String userId) {
+        return applySecurityChange(userId, userFactory::lockUser);
+    }
+
+    /**
+     * Disables a user's account and revokes all of the user's tokens.
+     */
+    public Optional<U> disableUser(String userId) {
+        return applySecurityChange(userId, userFactory::disableUser);
+    }
+
     /**
      * Validates token and returns user information.
      */
     public Optional<U> validateToken(String token) {
         try {
+            // A current snapshot in the token stands in for the user row
+            Optional<U> restored = tokenService.extractUserSnapshot(token).flatMap(userFactory::restore);
+            if (restored.isPresent()) {
+                return restored;
+            }
+
             if (!tokenService.isTokenValidAndNotExpired(token)) {
                 return Optional.empty();
             }
@@ -302,52 +498,149 @@ public class GenericAuthenticationService<U extends BaseUser<R>, R> {
 
     // Private helper methods
 
-    private void validateRegistrationRequest(RegistrationRequest<R> request) {
+    /**
+     * Returns a message describing the first missing field, or null if the request is complete.
+     */
+    private String validateRegistrationRequest(RegistrationRequest<R> request) {
         if (request == null) {
-            throw new IllegalArgumentException("Registration request cannot be null");
+            return "Registration request cannot be null";
         }
 
         if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
-            throw new IllegalArgumentException("Email is required");
+            return "Email is required";
         }
 
         if (request.getUsername() == null || request.getUsername().trim().isEmpty()) {
-            throw new IllegalArgumentException("Username is required");
+            return "Username is required";
         }
 
         if (request.getPassword() == null || request.getPassword().trim().isEmpty()) {
-            throw new IllegalArgumentException("Password is required");
+            return "Password is required";
         }
+        return null;
+    }
+
+    /**
+     * Starts the email check, the username check and password hashing concurrently.
+     * The returned future completes with the encoded password, or fails with the first failure: a taken
+     * email or username, an error, or a {@link TimeoutException} at the registration deadline. On failure
+     * the remaining work is cancelled, so a queued hash never starts once the email is known to be taken.
+     */
+    private CompletableFuture<String> startRegistrationChecks(Email email, String username, Password password) {
+        CompletableFuture<Boolean> emailTaken = asyncUserRepository.existsByEmail(email).toCompletableFuture();
+        CompletableFuture<Boolean> usernameTaken = asyncUserRepository.existsByUsername(username).toCompletableFuture();
+        CompletableFuture<String> encodedPassword = asyncPasswordService.encodeAsync(password.getValue()).toCompletableFuture();
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        failFast(emailTaken, AuthFailureReason.EMAIL_TAKEN, result);
+        failFast(usernameTaken, AuthFailureReason.USERNAME_TAKEN, result);
+        encodedPassword.whenComplete((encoded, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+            }
+        });
+        CompletableFuture.allOf(emailTaken, usernameTaken, encodedPassword)
+                .thenRun(() -> result.complete(encodedPassword.join()));
+
+        result.orTimeout(registrationDeadlineMillis, TimeUnit.MILLISECONDS);
+        result.whenComplete((encoded, error) -> {
+            if (error != null) {
+                emailTaken.cancel(true);
+                usernameTaken.cancel(true);
+                encodedPassword.cancel(true);
+            }
+        });
+        return result;
     }
-    @SuppressWarnings("unchecked")
-    private <C> AuthenticationStrategyPort<U, R, C> findAuthenticationStrategy(C credentials) {
-        for (AuthenticationStrategyPort<U, R, ?> strategy : authenticationStrategies) {
-            // Cast the strategy to a raw type temporarily to avoid generic type issues
-            if (((AuthenticationStrategyPort) strategy).supports(credentials.getClass()) && strategy.isEnabled()) {
-                return (AuthenticationStrategyPort<U, R, C>) strategy;
+
+    private static void failFast(CompletableFuture<Boolean> taken, AuthFailureReason reason, CompletableFuture<String> result) {
+        taken.whenComplete((isTaken, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+            } else if (isTaken) {
+                result.completeExceptionally(reason.exception());
             }
+        });
+    }
+
+    /**
+     * Waits for {@link #startRegistrationChecks} and returns the encoded password, rethrowing its failure.
+     */
+    private String awaitRegistrationChecks(Email email, String username, Password password) throws Exception {
+        try {
+            return startRegistrationChecks(email, username, password).join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw e;
         }
-        return null;
     }
 
-    private void validateUserStatus(U user) {
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private AuthFailureReason checkUserStatus(U user) {
         if (!user.isEnabled()) {
-            throw new AccountDisabledException("Account is disabled");
+            return AuthFailureReason.ACCOUNT_DISABLED;
         }
 
         if (user.isLocked()) {
-            throw new AccountLockedException("Account is locked");
+            return AuthFailureReason.ACCOUNT_LOCKED;
         }
 
         if (user.isAccountExpired()) {
-            throw new AccountExpiredException("Account has expired");
+            return AuthFailureReason.ACCOUNT_EXPIRED;
         }
 
         if (user.isCredentialsExpired()) {
-            throw new CredentialsExpiredException("Credentials have expired");
+            return AuthFailureReason.CREDENTIALS_EXPIRED;
+        }
+        return null;
+    }
+
+    /**
+     * Persists a security-relevant change to the user, then bumps the token epoch. Bumping only after
+     * the commit means no token issued against the old state can carry the new epoch.
+     */
+    private Optional<U> applySecurityChange(String userId, UnaryOperator<U> change) {
+        try {
+            U updatedUser = change.apply(findUserById(userId));
+            transactionPort.inTransaction(() -> userRepository.update(updatedUser));
+            revokeEverything(userId);
+            return Optional.of(updatedUser);
+        } catch (Exception e) {
+            log.error("Failed to update user: {}", userId, e);
+            return Optional.empty();
         }
     }
 
+    /**
+     * Bumps the token epoch, which invalidates every token at once, and clears the session index.
+     */
+    private void revokeEverything(String userId) {
+        tokenEpochs.revokeAll(userId);
+        sessionRegistry.revokeAll(userId);
+    }
+
+    /**
+     * Generates a refresh token and records it as a new session.
+     */
+    private String issueRefreshToken(U user, String device, String ipAddress) {
+        String refreshToken = tokenService.generateRefreshToken(user);
+        Claims claims = tokenService.extractAllClaims(refreshToken);
+        Instant issuedAt = toInstant(claims.getIssuedAt());
+        sessionRegistry.register(user.getId().toString(), new SessionInfo(
+                claims.getId(), device, ipAddress, issuedAt, issuedAt, toInstant(claims.getExpiration())));
+        return refreshToken;
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
+    }
+
     private U findUserById(String userId) {
         UserId userIdVO = UserId.of(userId);
         return userRepository.findById(userIdVO)
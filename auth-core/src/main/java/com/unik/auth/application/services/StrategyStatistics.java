@@ -0,0 +1,31 @@
+package com.unik.auth.application.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time invocation statistics of one authentication strategy.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StrategyStatistics {
+    private final String strategyName;
+    private final int priority;
+    private final boolean enabled;
+    private final long invocations;
+    private final long successes;
+    private final long rejections;
+    private final long errors;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    /**
+     * Returns the mean invocation latency in nanoseconds, or 0 if never invoked.
+     * @return the mean latency
+     */
+    public long getMeanNanos() {
+        return invocations == 0 ? 0 : totalNanos / invocations;
+    }
+}
@@ -1,5 +1,6 @@
 package com.unik.auth.application.services;
 
+import com.unik.auth.domain.exceptions.AuthFailureReason;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -20,16 +21,21 @@ public class TokenRefreshResult implements Serializable {
     private String accessToken;
     private String message;
     private String errorCode;
+    private AuthFailureReason failureReason;
 
     public static TokenRefreshResult success(String accessToken) {
-        return new TokenRefreshResult(true, accessToken, "Token refreshed successfully", null);
+        return new TokenRefreshResult(true, accessToken, "Token refreshed successfully", null, null);
     }
 
     public static TokenRefreshResult failure(String message) {
-        return new TokenRefreshResult(false, null, message, null);
+        return new TokenRefreshResult(false, null, message, null, null);
     }
 
     public static TokenRefreshResult failure(String message, String errorCode) {
-        return new TokenRefreshResult(false, null, message, errorCode);
+        return new TokenRefreshResult(false, null, message, errorCode, null);
+    }
+
+    public static TokenRefreshResult failure(AuthFailureReason reason) {
+        return new TokenRefreshResult(false, null, reason.getMessage(), reason.name(), reason);
     }
 }
@@ -54,6 +54,22 @@ public class GenericAuthenticateUserUseCase<U extends BaseUser<R>, R> implements
         return authService.authenticate(credentials);
     }
 
+    /**
+     * Authenticates a user with username and password credentials and records the new session.
+     *
+     * @param username The username
+     * @param password The password
+     * @param device The client's user agent
+     * @param ipAddress The client's address
+     * @return Authentication result containing user info and tokens if successful
+     */
+    @Override
+    public AuthenticationResult<U> authenticateWithUsernamePassword(String username, String password, String device, String ipAddress) {
+        log.debug("Authenticating with username: {}", username);
+        UsernamePasswordCredentials credentials = new UsernamePasswordCredentials(username, password);
+        return authService.authenticate(credentials, device, ipAddress);
+    }
+
     /**
      * Authenticates a user with email and password credentials.
      *
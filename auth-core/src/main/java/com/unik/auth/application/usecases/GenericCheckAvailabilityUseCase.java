@@ -0,0 +1,45 @@
+package com.unik.auth.application.usecases;
+
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.exceptions.InvalidEmailException;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.ports.input.CheckAvailabilityPort;
+import com.unik.auth.ports.input.dto.response.AvailabilityResult;
+import com.unik.auth.ports.output.UserRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generic use case for checking whether a username or email is still free to register.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class GenericCheckAvailabilityUseCase<U extends BaseUser<R>, R> implements CheckAvailabilityPort {
+
+    private final UserRepositoryPort<U, R> userRepository;
+
+    @Override
+    public AvailabilityResult checkAvailability(String username, String email) {
+        Boolean usernameAvailable = null;
+        Boolean emailAvailable = null;
+        String message = null;
+
+        if (username != null && !username.isBlank()) {
+            usernameAvailable = !userRepository.existsByUsername(username.trim());
+        }
+
+        if (email != null && !email.isBlank()) {
+            try {
+                emailAvailable = !userRepository.existsByEmail(Email.of(email));
+            } catch (InvalidEmailException e) {
+                log.debug("Availability check with invalid email: {}", email);
+                emailAvailable = false;
+                message = e.getMessage();
+            }
+        }
+
+        return new AvailabilityResult(usernameAvailable, emailAvailable, message);
+    }
+}
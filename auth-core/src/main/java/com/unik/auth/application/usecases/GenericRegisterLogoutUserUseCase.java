@@ -4,6 +4,7 @@ import com.unik.auth.application.services.AuthenticationResult;
 import com.unik.auth.application.services.GenericAuthenticationService;
 import com.unik.auth.application.services.RegistrationRequest;
 import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.exceptions.AuthFailureReason;
 import com.unik.auth.ports.input.RegisterLogoutUserPort;
 import com.unik.auth.ports.input.dto.request.RegisterUserRequest;
 import com.unik.auth.ports.input.dto.response.LogoutResult;
@@ -45,29 +46,23 @@ public class GenericRegisterLogoutUserUseCase<U extends BaseUser<R>, R> implemen
                         result.getMessage()
                 );
             } else {
-                return RegisterUserResult.failure(result.getMessage());
+                return RegisterUserResult.failure(result.getFailureReason(), result.getMessage());
             }
 
         } catch (Exception e) {
             log.error("Registration failed for user: {}", request.getUsername(), e);
-            return RegisterUserResult.failure("Registration failed: " + e.getMessage());
+            return RegisterUserResult.failure(AuthFailureReason.INTERNAL_ERROR, AuthFailureReason.INTERNAL_ERROR.getMessage());
         }
     }
 
     @Override
     public LogoutResult logoutUser(String request) {
         try {
-            log.info("Processing logout request for token: {}", request);
-            LogoutResult result = authService.logout(request);
-
-            if (result.isSuccess()) {
-                return LogoutResult.success(result.getMessage());
-            } else {
-                return LogoutResult.failure(result.getMessage());
-            }
+            log.debug("Processing logout request");
+            return authService.logout(request);
         } catch (Exception e) {
-            log.error("Logout failed for token: {}", request, e);
-            return LogoutResult.failure("Logout failed: " + e.getMessage());
+            log.error("Logout failed", e);
+            return LogoutResult.failure(AuthFailureReason.INTERNAL_ERROR);
         }
     }
 }
@@ -0,0 +1,27 @@
+package com.unik.auth.domain.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Stackless exception carrying an {@link AuthFailureReason}. Instances are cheap to create and the
+ * default instance per reason is shared, so throwing one on a hot path costs no stack walk.
+ */
+public final class AuthFailureException extends AuthenticationException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final AuthFailureReason reason;
+
+    AuthFailureException(AuthFailureReason reason, String message) {
+        super(message, null, false, false);
+        this.reason = reason;
+    }
+
+    /**
+     * Returns the failure reason.
+     * @return the reason
+     */
+    public AuthFailureReason getReason() {
+        return reason;
+    }
+}
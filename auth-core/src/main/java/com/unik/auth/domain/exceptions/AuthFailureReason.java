@@ -0,0 +1,121 @@
+package com.unik.auth.domain.exceptions;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reasons an authentication operation can fail, returned in results instead of thrown.
+ * Each reason carries the HTTP status the web adapters answer it with.
+ * Each reason owns a preallocated, stackless {@link AuthFailureException} for callers that need to
+ * signal the failure by throwing, e.g. to reach a web exception handler, without the cost of filling
+ * in a stack trace.
+ */
+public enum AuthFailureReason {
+    INVALID_REQUEST("Invalid request", 400),
+    INVALID_CREDENTIALS("Invalid credentials provided", 401),
+    UNSUPPORTED_CREDENTIALS("Unsupported authentication method", 400),
+    ACCOUNT_DISABLED("Account is disabled", 403),
+    ACCOUNT_LOCKED("Account is locked", 423),
+    ACCOUNT_EXPIRED("Account has expired", 403),
+    CREDENTIALS_EXPIRED("Credentials have expired", 403),
+    INVALID_TOKEN("Token is invalid or expired", 401),
+    EMAIL_TAKEN("Email is already registered", 409),
+    USERNAME_TAKEN("Username is already taken", 409),
+    USER_ALREADY_EXISTS("User already exists", 409),
+    USER_NOT_FOUND("User not found", 404),
+    TIMEOUT("Request timed out", 503),
+    INTERNAL_ERROR("Internal error", 500);
+
+    private final String message;
+    private final int httpStatus;
+    private final AuthFailureException exception;
+
+    AuthFailureReason(String message, int httpStatus) {
+        this.message = message;
+        this.httpStatus = httpStatus;
+        this.exception = new AuthFailureException(this, message);
+    }
+
+    /**
+     * Returns the default client-facing message.
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the HTTP status code for this reason.
+     * @return the status code
+     */
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * Returns the shared, stackless exception for this reason with the default message.
+     * @return the preallocated exception
+     */
+    public AuthFailureException exception() {
+        return exception;
+    }
+
+    /**
+     * Returns a stackless exception for this reason with a specific message.
+     * @param message the detail message, or null for the default message
+     * @return the exception
+     */
+    public AuthFailureException exception(String message) {
+        return message == null || message.equals(this.message) ? exception : new AuthFailureException(this, message);
+    }
+
+    /**
+     * Maps a domain exception thrown by a lower layer to its failure reason.
+     * @param e the exception
+     * @return the matching reason, or {@link #INTERNAL_ERROR} for unexpected exceptions
+     */
+    public static AuthFailureReason of(Throwable e) {
+        if (e instanceof AuthFailureException failure) {
+            return failure.getReason();
+        }
+        if (e instanceof UserAlreadyExistsException alreadyExists) {
+            if (UserAlreadyExistsException.FIELD_EMAIL.equals(alreadyExists.getField())) {
+                return EMAIL_TAKEN;
+            }
+            if (UserAlreadyExistsException.FIELD_USERNAME.equals(alreadyExists.getField())) {
+                return USERNAME_TAKEN;
+            }
+            return USER_ALREADY_EXISTS;
+        }
+        if (e instanceof InvalidCredentialsException) {
+            return INVALID_CREDENTIALS;
+        }
+        if (e instanceof InvalidEmailException || e instanceof InvalidPasswordException || e instanceof IllegalArgumentException) {
+            return INVALID_REQUEST;
+        }
+        if (e instanceof InvalidTokenException) {
+            return INVALID_TOKEN;
+        }
+        if (e instanceof UserNotFoundException) {
+            return USER_NOT_FOUND;
+        }
+        if (e instanceof AccountDisabledException) {
+            return ACCOUNT_DISABLED;
+        }
+        if (e instanceof AccountLockedException) {
+            return ACCOUNT_LOCKED;
+        }
+        if (e instanceof AccountExpiredException) {
+            return ACCOUNT_EXPIRED;
+        }
+        if (e instanceof CredentialsExpiredException) {
+            return CREDENTIALS_EXPIRED;
+        }
+        if (e instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        if (e instanceof UnsupportedAuthenticationException) {
+            return UNSUPPORTED_CREDENTIALS;
+        }
+        return INTERNAL_ERROR;
+    }
+}
@@ -25,4 +25,15 @@ public class AuthenticationException extends RuntimeException {
     public AuthenticationException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Constructs a new AuthenticationException with control over suppression and stack trace capture.
+     * @param message the detail message
+     * @param cause the cause
+     * @param enableSuppression whether suppression is enabled
+     * @param writableStackTrace whether the stack trace should be writable
+     */
+    protected AuthenticationException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
 }
@@ -9,12 +9,30 @@ public final class UserAlreadyExistsException extends AuthenticationException {
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /** Field name reported when the email is already registered. */
+    public static final String FIELD_EMAIL = "email";
+
+    /** Field name reported when the username is already registered. */
+    public static final String FIELD_USERNAME = "username";
+
+    private final String field;
+
     /**
      * Constructs a new UserAlreadyExistsException with the specified detail message.
      * @param message the detail message
      */
     public UserAlreadyExistsException(String message) {
+        this(message, (String) null);
+    }
+
+    /**
+     * Constructs a new UserAlreadyExistsException for a specific conflicting field.
+     * @param message the detail message
+     * @param field the conflicting field, e.g. {@link #FIELD_EMAIL} or {@link #FIELD_USERNAME}
+     */
+    public UserAlreadyExistsException(String message, String field) {
         super(message);
+        this.field = field;
     }
 
     /**
@@ -23,6 +41,25 @@ public final class UserAlreadyExistsException extends AuthenticationException {
      * @param cause the cause
      */
     public UserAlreadyExistsException(String message, Throwable cause) {
+        this(message, null, cause);
+    }
+
+    /**
+     * Constructs a new UserAlreadyExistsException for a specific conflicting field with a cause.
+     * @param message the detail message
+     * @param field the conflicting field, or null if unknown
+     * @param cause the cause
+     */
+    public UserAlreadyExistsException(String message, String field, Throwable cause) {
         super(message, cause);
+        this.field = field;
+    }
+
+    /**
+     * Returns the conflicting field, or null if it could not be determined.
+     * @return the field name
+     */
+    public String getField() {
+        return field;
     }
 }
@@ -61,6 +61,16 @@ public final class Email implements Serializable {
         return new Email(normalizedEmail);
     }
 
+    /**
+     * Checks whether a raw email string would be accepted by {@link #of(String)}, without throwing.
+     *
+     * @param email the raw email string
+     * @return true if the email is valid
+     */
+    public static boolean isValid(String email) {
+        return email != null && !email.isBlank() && isValidEmail(normalizeEmail(email));
+    }
+
     /**
      * Normalizes the email by trimming whitespace and converting to lowercase.
      *
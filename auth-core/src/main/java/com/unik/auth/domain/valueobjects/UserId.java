@@ -2,44 +2,117 @@ package com.unik.auth.domain.valueobjects;
 
 import com.unik.auth.domain.exceptions.UserNotFoundException;
 import lombok.EqualsAndHashCode;
-import lombok.Getter;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
 import java.util.UUID;
 
-@Getter
+/**
+ * Immutable value object representing a user identifier.
+ * <p>
+ * Holds a 128-bit UUID as two longs. New identifiers are time-ordered (UUIDv7 layout:
+ * 48-bit Unix millisecond timestamp followed by random bits), so consecutive inserts land
+ * on the right-hand edge of the primary key index instead of splitting random pages.
+ * Existing random (v4) identifiers remain valid.
+ * </p>
+ */
 @EqualsAndHashCode
 public final class UserId implements Serializable {
     @Serial
-    private static final long serialVersionUID = 1L;
-    private final String value;
+    private static final long serialVersionUID = 2L;
 
-    private UserId(String value) {
-        this.value = value;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+
+    private UserId(long mostSignificantBits, long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
     }
 
     /**
-     * Factory method to create a validated UserId instance from a string.
-     * Accepts UUID or any non-blank string.
+     * Factory method to create a validated UserId instance from its canonical UUID string.
      *
      * @param id the user id string
      * @return a new UserId instance
-     * @throws UserNotFoundException if the id is null or blank
+     * @throws UserNotFoundException if the id is null, blank or not a UUID
      */
     public static UserId of(String id) {
         if (id == null || id.isBlank())
             throw new UserNotFoundException("UserId cannot be null or blank");
-        return new UserId(id.trim());
+        try {
+            return fromUuid(UUID.fromString(id.trim()));
+        } catch (IllegalArgumentException e) {
+            throw new UserNotFoundException("Invalid UserId: " + id);
+        }
+    }
+
+    /**
+     * Creates a UserId from a UUID.
+     *
+     * @param uuid the UUID
+     * @return a new UserId instance
+     */
+    public static UserId fromUuid(UUID uuid) {
+        return new UserId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
     }
 
     /**
-     * Generates a new UserId using a random UUID.
+     * Creates a UserId from its 16-byte big-endian binary form.
+     *
+     * @param bytes the binary id
+     * @return a new UserId instance
+     * @throws UserNotFoundException if the array is not 16 bytes long
+     */
+    public static UserId fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != 16)
+            throw new UserNotFoundException("Binary UserId must be 16 bytes");
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UserId(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Generates a new time-ordered UserId (UUIDv7).
      *
      * @return a new UserId instance
      */
     public static UserId generate() {
-        return new UserId(UUID.randomUUID().toString());
+        long timestamp = System.currentTimeMillis() & 0xFFFFFFFFFFFFL;
+        long randomA = RANDOM.nextLong();
+        long randomB = RANDOM.nextLong();
+        long msb = (timestamp << 16) | 0x7000L | (randomA & 0x0FFFL);
+        long lsb = (randomB & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UserId(msb, lsb);
+    }
+
+    /**
+     * Returns the identifier as a UUID.
+     *
+     * @return the UUID
+     */
+    public UUID toUuid() {
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Returns the identifier in its 16-byte big-endian binary form.
+     *
+     * @return the binary id
+     */
+    public byte[] toBytes() {
+        return ByteBuffer.allocate(16).putLong(mostSignificantBits).putLong(leastSignificantBits).array();
+    }
+
+    /**
+     * Returns the canonical UUID string of the UserId.
+     *
+     * @return the user id string
+     */
+    public String getValue() {
+        return toString();
     }
 
     /**
@@ -49,6 +122,6 @@ public final class UserId implements Serializable {
      */
     @Override
     public String toString() {
-        return value;
+        return toUuid().toString();
     }
 }
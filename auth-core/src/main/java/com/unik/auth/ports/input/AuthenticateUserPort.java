@@ -12,6 +12,11 @@ public interface AuthenticateUserPort<U extends BaseUser<?>, R> {
 
     AuthenticationResult<U> authenticateWithUsernamePassword(String username, String password);
 
+    /**
+     * Authenticates with a username or email and records the session with the client's device and address.
+     */
+    AuthenticationResult<U> authenticateWithUsernamePassword(String username, String password, String device, String ipAddress);
+
     AuthenticationResult<U> authenticateWithEmail(String email, String password);
 
     Boolean isAuthenticated(String accessToken);
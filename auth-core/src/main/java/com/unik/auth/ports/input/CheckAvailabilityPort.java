@@ -0,0 +1,11 @@
+package com.unik.auth.ports.input;
+
+import com.unik.auth.ports.input.dto.response.AvailabilityResult;
+
+/**
+ * Input port for username and email availability checks.
+ */
+public interface CheckAvailabilityPort {
+
+    AvailabilityResult checkAvailability(String username, String email);
+}
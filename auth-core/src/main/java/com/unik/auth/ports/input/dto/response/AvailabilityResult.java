@@ -0,0 +1,17 @@
+package com.unik.auth.ports.input.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result class for availability checks. A null flag means the identifier was not checked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityResult {
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+    private String message;
+}
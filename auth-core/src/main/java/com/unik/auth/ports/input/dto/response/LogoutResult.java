@@ -1,5 +1,6 @@
 package com.unik.auth.ports.input.dto.response;
 
+import com.unik.auth.domain.exceptions.AuthFailureReason;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,16 +15,21 @@ public class LogoutResult {
     private boolean success;
     private String message;
     private String errorCode;
+    private AuthFailureReason failureReason;
 
     public static LogoutResult success(String message) {
-        return new LogoutResult(true, message, null);
+        return new LogoutResult(true, message, null, null);
     }
 
     public static LogoutResult failure(String message) {
-        return new LogoutResult(false, message, null);
+        return new LogoutResult(false, message, null, null);
     }
 
     public static LogoutResult failure(String message, String errorCode) {
-        return new LogoutResult(false, message, errorCode);
+        return new LogoutResult(false, message, errorCode, null);
+    }
+
+    public static LogoutResult failure(AuthFailureReason reason) {
+        return new LogoutResult(false, reason.getMessage(), reason.name(), reason);
     }
 }
@@ -1,5 +1,6 @@
 package com.unik.auth.ports.input.dto.response;
 
+import com.unik.auth.domain.exceptions.AuthFailureReason;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,7 @@ public class RegisterUserResult<U> implements Serializable {
     private String refreshToken;
     private String message;
     private String errorCode;
+    private AuthFailureReason failureReason;
 
     public static <U> RegisterUserResult<U> success(U user, String accessToken, String refreshToken, String message) {
         return RegisterUserResult.<U>builder()
@@ -46,4 +48,13 @@ public class RegisterUserResult<U> implements Serializable {
                 .errorCode(errorCode)
                 .build();
     }
-}
\ No newline at end of file
+
+    public static <U> RegisterUserResult<U> failure(AuthFailureReason reason, String message) {
+        return RegisterUserResult.<U>builder()
+                .success(false)
+                .message(message)
+                .errorCode(reason.name())
+                .failureReason(reason)
+                .build();
+    }
+}
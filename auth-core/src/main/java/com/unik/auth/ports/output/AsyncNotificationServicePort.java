@@ -0,0 +1,63 @@
+package com.unik.auth.ports.output;
+
+import com.unik.auth.domain.entities.BaseUser;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link NotificationServicePort}. Notifications sent through it are
+ * queued outside the caller's transaction; use the synchronous port inside a transaction when the
+ * notification must commit together with a user change.
+ *
+ * @param <U> the user type
+ * @param <R> the role type
+ */
+public interface AsyncNotificationServicePort<U extends BaseUser<R>, R> {
+    /**
+     * Sends a welcome notification to the user.
+     * @param user the user entity
+     * @return a stage completing once the notification is queued
+     */
+    CompletionStage<Void> sendWelcomeNotification(U user);
+
+    /**
+     * Sends a notification to the user when their password is changed.
+     * @param user the user entity
+     * @return a stage completing once the notification is queued
+     */
+    CompletionStage<Void> sendPasswordChangeNotification(U user);
+
+    /**
+     * Sends a password reset notification with a temporary password.
+     * @param user the user entity
+     * @param temporaryPassword the temporary password
+     * @return a stage completing once the notification is queued
+     */
+    CompletionStage<Void> sendPasswordResetNotification(U user, String temporaryPassword);
+
+    /**
+     * Notifies the user about a change in their account status.
+     * @param user the user entity
+     * @param status the new account status
+     * @return a stage completing once the notification is queued
+     */
+    CompletionStage<Void> sendAccountStatusNotification(U user, String status);
+
+    /**
+     * Notifies the user about a login from a new device or location.
+     * @param user the user entity
+     * @param ipAddress the IP address of the login
+     * @param userAgent the user agent of the login
+     * @return a stage completing once the notification is queued
+     */
+    CompletionStage<Void> sendLoginNotification(U user, String ipAddress, String userAgent);
+
+    /**
+     * Sends a security alert to the user.
+     * @param user the user entity
+     * @param alertType the type of alert
+     * @param details additional details
+     * @return a stage completing once the notification is queued
+     */
+    CompletionStage<Void> sendSecurityAlertNotification(U user, String alertType, String details);
+}
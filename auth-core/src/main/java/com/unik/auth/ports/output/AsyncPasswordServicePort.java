@@ -0,0 +1,26 @@
+package com.unik.auth.ports.output;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of the hashing operations of {@link PasswordServicePort}.
+ * Hashing runs on a bounded pool owned by the adapter so it can overlap database work.
+ */
+public interface AsyncPasswordServicePort {
+
+    /**
+     * Encodes a raw password using the configured encoding algorithm.
+     * @param rawPassword the raw password
+     * @return a stage completing with the encoded password
+     */
+    CompletionStage<String> encodeAsync(String rawPassword);
+
+    /**
+     * Verifies a raw password against the encoded password, with the same result
+     * convention as {@link PasswordServicePort#matches(String, String)}.
+     * @param rawPassword the raw password
+     * @param encodedPassword the encoded password
+     * @return a stage completing with the verification result
+     */
+    CompletionStage<Boolean> matchesAsync(String rawPassword, String encodedPassword);
+}
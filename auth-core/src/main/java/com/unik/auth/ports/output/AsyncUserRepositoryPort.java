@@ -0,0 +1,76 @@
+package com.unik.auth.ports.output;
+
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.domain.valueobjects.UserId;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+
+/**
+ * Non-blocking counterpart of {@link UserRepositoryPort} for the operations application services
+ * compose. Each stage completes on a thread owned by the adapter, so independent lookups can overlap.
+ */
+public interface AsyncUserRepositoryPort<U extends BaseUser<R>, R> {
+
+    /**
+     * Finds a user by their unique identifier.
+     * @param userId the user ID
+     * @return a stage completing with the user, if found
+     */
+    CompletionStage<Optional<U>> findById(UserId userId);
+
+    /**
+     * Finds a user by their email address.
+     * @param email the email address
+     * @return a stage completing with the user, if found
+     */
+    CompletionStage<Optional<U>> findByEmail(Email email);
+
+    /**
+     * Finds a user by their username.
+     * @param username the username
+     * @return a stage completing with the user, if found
+     */
+    CompletionStage<Optional<U>> findByUsername(String username);
+
+    /**
+     * Checks if a user exists with the given email.
+     * @param email the email address
+     * @return a stage completing with true if a user exists
+     */
+    CompletionStage<Boolean> existsByEmail(Email email);
+
+    /**
+     * Checks if a user exists with the given username.
+     * @param username the username
+     * @return a stage completing with true if a user exists
+     */
+    CompletionStage<Boolean> existsByUsername(String username);
+
+    /**
+     * Inserts a new user and runs the action in the same transaction, e.g. to queue a notification.
+     * @param user the user to insert
+     * @param inTransaction work committed or rolled back together with the insert
+     * @return a stage completing with the inserted user, or exceptionally with
+     *         {@link com.unik.auth.domain.exceptions.UserAlreadyExistsException} on a duplicate
+     */
+    <S extends U> CompletionStage<S> create(S user, Consumer<? super S> inTransaction);
+
+    /**
+     * Inserts a new user.
+     * @param user the user to insert
+     * @return a stage completing with the inserted user
+     */
+    default <S extends U> CompletionStage<S> create(S user) {
+        return create(user, created -> { });
+    }
+
+    /**
+     * Updates an existing user.
+     * @param user the user to update
+     * @return a stage completing with the updated user
+     */
+    <S extends U> CompletionStage<S> update(S user);
+}
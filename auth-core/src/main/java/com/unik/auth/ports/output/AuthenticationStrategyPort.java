@@ -38,6 +38,15 @@ public interface AuthenticationStrategyPort<U extends BaseUser<R>, R, C> {
      */
     boolean isEnabled();
 
+    /**
+     * Returns the dispatch priority of this strategy; when several enabled strategies support the same
+     * credentials type, the one with the lowest value is used.
+     * @return the priority, 0 by default
+     */
+    default int getPriority() {
+        return 0;
+    }
+
     /**
      * Validates the format of the provided credentials (e.g., structure, required fields).
      * @param credentials the credentials to validate
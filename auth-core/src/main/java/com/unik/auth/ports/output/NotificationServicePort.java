@@ -43,6 +43,16 @@ public interface NotificationServicePort<U extends BaseUser<R>, R> {
      */
     void sendLoginNotification(U user, String ipAddress, String userAgent);
 
+    /**
+     * Sends a single summary of several logins, in place of one login notification each.
+     * @param user the user entity
+     * @param loginCount the number of logins summarized
+     * @param windowMinutes the period the logins happened in, in minutes
+     * @param ipAddresses the IP addresses the logins came from, with their counts
+     * @param userAgents the user agents the logins came from
+     */
+    void sendLoginDigestNotification(U user, int loginCount, long windowMinutes, String ipAddresses, String userAgents);
+
     /**
      * Sends a security alert notification to the user (e.g., suspicious activity).
      * @param user the user entity
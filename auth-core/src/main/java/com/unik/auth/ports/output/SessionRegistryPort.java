@@ -0,0 +1,49 @@
+package com.unik.auth.ports.output;
+
+import com.unik.auth.ports.output.dto.SessionInfo;
+
+import java.util.List;
+
+/**
+ * Port for the registry of a user's active sessions, one per outstanding refresh token.
+ * Sessions past their expiry are dropped whenever the user's sessions are accessed.
+ */
+public interface SessionRegistryPort {
+
+    /**
+     * Records a new session at login.
+     * @param userId the user ID
+     * @param session the session
+     */
+    void register(String userId, SessionInfo session);
+
+    /**
+     * Updates the last-seen metadata of a session when its refresh token is used.
+     * @param userId the user ID
+     * @param session the session with its new metadata
+     * @return true if the session is still active, false if it expired or was revoked
+     */
+    boolean refresh(String userId, SessionInfo session);
+
+    /**
+     * Lists the user's active sessions, most recently created first.
+     * @param userId the user ID
+     * @return the active sessions
+     */
+    List<SessionInfo> list(String userId);
+
+    /**
+     * Revokes a single session.
+     * @param userId the user ID
+     * @param sessionId the session ID
+     * @return true if the session was active
+     */
+    boolean revoke(String userId, String sessionId);
+
+    /**
+     * Revokes all of the user's sessions.
+     * @param userId the user ID
+     * @return the number of active sessions revoked
+     */
+    long revokeAll(String userId);
+}
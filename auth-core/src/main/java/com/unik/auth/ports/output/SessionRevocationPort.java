@@ -0,0 +1,22 @@
+package com.unik.auth.ports.output;
+
+/**
+ * Port for the list of revoked sessions.
+ * Stateless access tokens name the session they were issued to, so a revoked session's access tokens
+ * are rejected before they expire. Entries only need to outlive the longest access token.
+ */
+public interface SessionRevocationPort {
+
+    /**
+     * Revokes the session's outstanding access tokens.
+     * @param sessionId the session ID
+     */
+    void revoke(String sessionId);
+
+    /**
+     * Returns true if the session was revoked.
+     * @param sessionId the session ID
+     * @return whether the session's access tokens must be rejected
+     */
+    boolean isRevoked(String sessionId);
+}
@@ -0,0 +1,23 @@
+package com.unik.auth.ports.output;
+
+/**
+ * Port for per-user token epochs.
+ * Every token is stamped with the user's epoch when it is issued and is only accepted while that
+ * epoch is still current, so bumping the epoch revokes all of a user's outstanding tokens in one write.
+ */
+public interface TokenEpochPort {
+
+    /**
+     * Returns the user's current epoch; users whose tokens were never revoked are at epoch 0.
+     * @param userId the user ID
+     * @return the current epoch
+     */
+    long currentEpoch(String userId);
+
+    /**
+     * Advances the user's epoch, revoking every token issued before the call.
+     * @param userId the user ID
+     * @return the new epoch
+     */
+    long revokeAll(String userId);
+}
@@ -1,6 +1,8 @@
 package com.unik.auth.ports.output;
 
 import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.dto.AccessTokenClaims;
+import com.unik.auth.ports.output.dto.UserSnapshot;
 import io.jsonwebtoken.Claims;
 
 import java.time.Duration;
@@ -37,6 +39,15 @@ public interface TokenServicePort<U extends BaseUser<R>, R> {
      */
     String generateAccessToken(U user, Map<String, Object> customClaims);
 
+    /**
+     * Generates an access token belonging to the session of a refresh token, so that revoking the
+     * session also revokes the access token where the implementation keeps server-side state.
+     * @param user the user entity
+     * @param refreshToken the refresh token of the session
+     * @return the generated access token
+     */
+    String generateSessionAccessToken(U user, String refreshToken);
+
     /**
      * Generates a refresh token for the given user.
      * @param user the user entity
@@ -136,4 +147,31 @@ public interface TokenServicePort<U extends BaseUser<R>, R> {
      */
     boolean isTokenSignatureValid(String token);
 
+    /**
+     * Verifies an access token with a single signature check and returns its claims.
+     * @param token the token string
+     * @return the claims, or empty if the token is invalid, expired or not an access token
+     */
+    Optional<AccessTokenClaims> verifyAccessToken(String token);
+
+    /**
+     * Verifies an access token and returns the user snapshot embedded in it.
+     * @param token the token string
+     * @return the snapshot, or empty if the token is invalid, carries no snapshot or one of an outdated version
+     */
+    Optional<UserSnapshot> extractUserSnapshot(String token);
+
+    /**
+     * Revokes a single token if the implementation keeps server-side state for it.
+     * Stateless tokens are revoked through their session or the user's token epoch instead.
+     * @param token the token string
+     */
+    void revokeToken(String token);
+
+    /**
+     * Revokes every token issued for a session if the implementation keeps server-side state for them.
+     * @param sessionId the session ID, i.e. the ID of the session's refresh token
+     */
+    void revokeSession(String sessionId);
+
 }
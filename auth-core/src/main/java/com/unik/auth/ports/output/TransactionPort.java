@@ -0,0 +1,19 @@
+package com.unik.auth.ports.output;
+
+import java.util.function.Supplier;
+
+/**
+ * Port for running a unit of work in a transaction.
+ * Lets application services keep transactions limited to the persistence phase,
+ * so slow work such as password hashing or notifications holds no database connection.
+ */
+public interface TransactionPort {
+
+    /**
+     * Runs the work in a new or the current transaction and commits it when the work returns.
+     * @param work the unit of work
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    <T> T inTransaction(Supplier<T> work);
+}
@@ -3,6 +3,7 @@ package com.unik.auth.ports.output;
 import com.unik.auth.domain.entities.BaseUser;
 import com.unik.auth.domain.valueobjects.Email;
 import com.unik.auth.domain.valueobjects.Password;
+import com.unik.auth.ports.output.dto.UserSnapshot;
 
 import java.util.Map;
 import java.util.Optional;
@@ -138,4 +139,13 @@ public interface UserFactoryPort<U extends BaseUser<R>, R> {
     default Optional<Object> getAttribute(U user, String key) {
         return Optional.empty();
     }
+
+    /**
+     * Optionally rebuilds a user from a token-embedded snapshot. The result carries no password.
+     * @param snapshot the snapshot taken when the token was issued
+     * @return the rebuilt user, or empty if this factory cannot restore users from snapshots
+     */
+    default Optional<U> restore(UserSnapshot snapshot) {
+        return Optional.empty();
+    }
 }
@@ -3,6 +3,7 @@ package com.unik.auth.ports.output;
 import com.unik.auth.domain.entities.BaseUser;
 import com.unik.auth.domain.valueobjects.Email;
 import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.dto.CredentialView;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +22,18 @@ public interface UserRepositoryPort<U extends BaseUser<R>, R> {
      */
     <S extends U> S save(S user);
 
+    /**
+     * Inserts a new user in a single statement, relying on the store's unique constraints
+     * instead of prior existence checks.
+     * @param user the user to insert
+     * @param <S> the type of the user
+     * @return the inserted user
+     * @throws com.unik.auth.domain.exceptions.UserAlreadyExistsException if the email or username is taken
+     */
+    default <S extends U> S create(S user) {
+        return save(user);
+    }
+
     /**
      * Updates an existing user.
      * @param user the user to update
@@ -50,6 +63,39 @@ public interface UserRepositoryPort<U extends BaseUser<R>, R> {
      */
     Optional<U> findByUsername(String username);
 
+    /**
+     * Finds a user by a login identifier that may be either a username or an email address.
+     * Implementations should resolve both in a single lookup over normalized columns;
+     * a username match takes precedence over an email match.
+     * @param identifier the username or email to search for
+     * @return an Optional containing the user if found, or empty if not
+     */
+    default Optional<U> findByIdentifier(String identifier) {
+        Optional<U> user = findByUsername(identifier);
+        if (user.isPresent()) {
+            return user;
+        }
+        return Email.isValid(identifier) ? findByEmail(Email.of(identifier)) : Optional.empty();
+    }
+
+    /**
+     * Finds only the credential data of a user by username or email, without loading the full user.
+     * Implementations should answer this from a covering index; login strategies load the full
+     * user only after the password check succeeds.
+     * @param identifier the username or email to search for
+     * @return an Optional containing the credential view if found, or empty if not
+     */
+    default Optional<CredentialView> findCredentialsByIdentifier(String identifier) {
+        return findByIdentifier(identifier).map(user -> new CredentialView(
+                user.getId().toString(),
+                user.getPassword(),
+                user.isEnabled(),
+                user.isLocked(),
+                user.isAccountExpired(),
+                user.isCredentialsExpired()
+        ));
+    }
+
     /**
      * Finds users by a specific role.
      * @param role the role to search for
@@ -0,0 +1,22 @@
+package com.unik.auth.ports.output.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Claims of a verified, unexpired access token: enough to build a request principal without a user lookup.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class AccessTokenClaims {
+    private final String userId;
+    private final String username;
+    private final Set<String> roles;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+}
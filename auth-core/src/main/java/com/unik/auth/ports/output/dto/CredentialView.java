@@ -0,0 +1,20 @@
+package com.unik.auth.ports.output.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Minimal view of a user needed to verify a login: the ID, the password hash and the account status flags.
+ */
+@Getter
+@AllArgsConstructor
+@ToString(exclude = "passwordHash")
+public class CredentialView {
+    private final String userId;
+    private final String passwordHash;
+    private final boolean enabled;
+    private final boolean locked;
+    private final boolean accountExpired;
+    private final boolean credentialsExpired;
+}
@@ -0,0 +1,22 @@
+package com.unik.auth.ports.output.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * One active session: a refresh token identified by its token ID, with the device and address it was last used from.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SessionInfo {
+    private final String sessionId;
+    private final String device;
+    private final String ipAddress;
+    private final Instant createdAt;
+    private final Instant lastSeenAt;
+    private final Instant expiresAt;
+}
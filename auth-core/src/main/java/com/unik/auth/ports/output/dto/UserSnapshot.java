@@ -0,0 +1,29 @@
+package com.unik.auth.ports.output.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * User state embedded in an access token, enough to rebuild the user without a lookup.
+ * Never carries credentials. {@code version} is the snapshot schema version the token was issued with.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UserSnapshot {
+    private final String userId;
+    private final String username;
+    private final String email;
+    private final String displayName;
+    private final Set<String> roles;
+    private final boolean enabled;
+    private final boolean locked;
+    private final boolean accountExpired;
+    private final boolean credentialsExpired;
+    private final Map<String, Object> attributes;
+    private final int version;
+}
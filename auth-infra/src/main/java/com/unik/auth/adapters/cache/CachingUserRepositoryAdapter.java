@@ -0,0 +1,467 @@
+package com.unik.auth.adapters.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unik.auth.adapters.persistence.AuthUserEntity;
+import com.unik.auth.adapters.persistence.JpaUserRepositoryAdapter;
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.UserRepositoryPort;
+import com.unik.auth.ports.output.dto.CredentialView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through caching decorator for the JPA user repository.
+ * Users are cached by ID, with separate normalized username and email indexes pointing at the ID entry.
+ * Writes evict the affected entries locally and broadcast an invalidation to the other nodes
+ * over Redis pub/sub, after the surrounding transaction commits when there is one.
+ * Users are mutable, so the cache keeps its own copy of each and hands out a fresh copy on every hit;
+ * a caller changing the user it got back never changes what other callers see.
+ * Usernames and emails that were looked up and not found are remembered for a short TTL,
+ * so repeated lookups of unknown identifiers (e.g. credential stuffing) do not reach the database.
+ * The {@link IdentifierMembershipFilter} only short-circuits the existence checks behind availability:
+ * other nodes learn about new users through best-effort broadcasts, so a stale filter must never turn
+ * a login into a miss. Registration itself is still decided by the unique constraints.
+ */
+@Slf4j
+@Primary
+@Component
+public class CachingUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUser<R>, R>, MessageListener {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private final JpaUserRepositoryAdapter<R> delegate;
+    private final IdentifierMembershipFilter membershipFilter;
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+    private final boolean invalidationEnabled;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<String, GenericUser<R>> usersById;
+    private final Cache<String, String> idsByUsername;
+    private final Cache<String, String> idsByEmail;
+    private final Cache<String, Boolean> absentUsernames;
+    private final Cache<String, Boolean> absentEmails;
+
+    public CachingUserRepositoryAdapter(
+            JpaUserRepositoryAdapter<R> delegate,
+            IdentifierMembershipFilter membershipFilter,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${cache.users.max-size:10000}") long maxSize,
+            @Value("${cache.users.ttl-seconds:300}") long ttlSeconds,
+            @Value("${cache.users.negative.max-size:100000}") long negativeMaxSize,
+            @Value("${cache.users.negative.ttl-seconds:60}") long negativeTtlSeconds,
+            @Value("${cache.users.invalidation.enabled:true}") boolean invalidationEnabled,
+            @Value("${cache.users.invalidation.channel:auth:users:invalidate}") String invalidationChannel
+    ) {
+        this.delegate = delegate;
+        this.membershipFilter = membershipFilter;
+        this.redisTemplate = redisTemplate;
+        this.invalidationEnabled = invalidationEnabled;
+        this.invalidationChannel = invalidationChannel;
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.usersById = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.idsByUsername = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.idsByEmail = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+
+        Duration negativeTtl = Duration.ofSeconds(negativeTtlSeconds);
+        this.absentUsernames = Caffeine.newBuilder().maximumSize(negativeMaxSize).expireAfterWrite(negativeTtl).build();
+        this.absentEmails = Caffeine.newBuilder().maximumSize(negativeMaxSize).expireAfterWrite(negativeTtl).build();
+
+        if (invalidationEnabled) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(invalidationChannel));
+        }
+    }
+
+    @Override
+    public <S extends GenericUser<R>> S save(S user) {
+        S saved = delegate.save(user);
+        invalidate(user.getId().toString(), user.getUsername(), user.getEmail());
+        return saved;
+    }
+
+    @Override
+    public <S extends GenericUser<R>> S create(S user) {
+        S created = delegate.create(user);
+        invalidate(user.getId().toString(), user.getUsername(), user.getEmail());
+        return created;
+    }
+
+    @Override
+    public <S extends GenericUser<R>> S update(S user) {
+        S updated = delegate.update(user);
+        invalidate(user.getId().toString(), user.getUsername(), user.getEmail());
+        return updated;
+    }
+
+    @Override
+    public Optional<GenericUser<R>> findById(UserId userId) {
+        String id = userId.toString();
+        GenericUser<R> cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        return delegate.findById(userId).map(this::cache);
+    }
+
+    @Override
+    public Optional<GenericUser<R>> findByEmail(Email email) {
+        GenericUser<R> cached = lookup(idsByEmail, email.getValue());
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        if (absentEmails.getIfPresent(email.getValue()) != null) {
+            return Optional.empty();
+        }
+        Optional<GenericUser<R>> user = delegate.findByEmail(email).map(this::cache);
+        if (user.isEmpty()) {
+            absentEmails.put(email.getValue(), Boolean.TRUE);
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<GenericUser<R>> findByUsername(String username) {
+        String key = AuthUserEntity.normalizeIdentifier(username);
+        GenericUser<R> cached = lookup(idsByUsername, key);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        if (key == null || absentUsernames.getIfPresent(key) != null) {
+            return Optional.empty();
+        }
+        Optional<GenericUser<R>> user = delegate.findByUsername(username).map(this::cache);
+        if (user.isEmpty()) {
+            absentUsernames.put(key, Boolean.TRUE);
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<GenericUser<R>> findByIdentifier(String identifier) {
+        String key = AuthUserEntity.normalizeIdentifier(identifier);
+        if (key == null) {
+            return Optional.empty();
+        }
+        GenericUser<R> cached = lookup(idsByUsername, key);
+        if (cached == null) {
+            cached = lookup(idsByEmail, key);
+        }
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        if (isIdentifierAbsent(key)) {
+            return Optional.empty();
+        }
+        Optional<GenericUser<R>> user = delegate.findByIdentifier(identifier).map(this::cache);
+        if (user.isEmpty()) {
+            markIdentifierAbsent(key);
+        }
+        return user;
+    }
+
+    @Override
+    public Optional<CredentialView> findCredentialsByIdentifier(String identifier) {
+        String key = AuthUserEntity.normalizeIdentifier(identifier);
+        if (key == null) {
+            return Optional.empty();
+        }
+        GenericUser<R> cached = lookup(idsByUsername, key);
+        if (cached == null) {
+            cached = lookup(idsByEmail, key);
+        }
+        if (cached != null) {
+            return Optional.of(new CredentialView(
+                    cached.getId().toString(),
+                    cached.getPassword(),
+                    cached.isEnabled(),
+                    cached.isLocked(),
+                    cached.isAccountExpired(),
+                    cached.isCredentialsExpired()
+            ));
+        }
+        if (isIdentifierAbsent(key)) {
+            return Optional.empty();
+        }
+        Optional<CredentialView> credentials = delegate.findCredentialsByIdentifier(identifier);
+        if (credentials.isEmpty()) {
+            markIdentifierAbsent(key);
+        }
+        return credentials;
+    }
+
+    @Override
+    public List<GenericUser<R>> findByRole(R role) {
+        return delegate.findByRole(role);
+    }
+
+    @Override
+    public List<GenericUser<R>> findByRoles(List<R> roles) {
+        return delegate.findByRoles(roles);
+    }
+
+    @Override
+    public List<GenericUser<R>> findAllEnabled() {
+        return delegate.findAllEnabled();
+    }
+
+    @Override
+    public List<GenericUser<R>> findAllDisabled() {
+        return delegate.findAllDisabled();
+    }
+
+    @Override
+    public List<GenericUser<R>> findAllLocked() {
+        return delegate.findAllLocked();
+    }
+
+    @Override
+    public List<GenericUser<R>> findUsersCreatedAfter(LocalDateTime date) {
+        return delegate.findUsersCreatedAfter(date);
+    }
+
+    @Override
+    public List<GenericUser<R>> findByAttribute(String key, Object value) {
+        return delegate.findByAttribute(key, value);
+    }
+
+    @Override
+    public <T> List<GenericUser<R>> findByAttributes(String key, List<T> values) {
+        return delegate.findByAttributes(key, values);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long countByRole(R role) {
+        return delegate.countByRole(role);
+    }
+
+    @Override
+    public boolean existsByEmail(Email email) {
+        if (idsByEmail.getIfPresent(email.getValue()) != null) {
+            return true;
+        }
+        return !membershipFilter.isEmailAbsent(email.getValue())
+                && absentEmails.getIfPresent(email.getValue()) == null
+                && delegate.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        String key = AuthUserEntity.normalizeIdentifier(username);
+        if (idsByUsername.getIfPresent(key) != null) {
+            return true;
+        }
+        return !membershipFilter.isUsernameAbsent(key)
+                && absentUsernames.getIfPresent(key) == null
+                && delegate.existsByUsername(username);
+    }
+
+    @Override
+    public boolean existsById(UserId userId) {
+        return usersById.getIfPresent(userId.toString()) != null || delegate.existsById(userId);
+    }
+
+    @Override
+    public void deleteById(UserId userId) {
+        GenericUser<R> cached = usersById.getIfPresent(userId.toString());
+        delegate.deleteById(userId);
+        invalidate(userId.toString(),
+                cached != null ? cached.getUsername() : null,
+                cached != null ? cached.getEmail() : null);
+    }
+
+    @Override
+    public void delete(GenericUser<R> user) {
+        delegate.delete(user);
+        invalidate(user.getId().toString(), user.getUsername(), user.getEmail());
+    }
+
+    @Override
+    public long countEnabled() {
+        return delegate.countEnabled();
+    }
+
+    @Override
+    public long countDisabled() {
+        return delegate.countDisabled();
+    }
+
+    @Override
+    public List<GenericUser<R>> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+
+    @Override
+    public List<GenericUser<R>> findByUsernameContaining(String pattern, int page, int size) {
+        return delegate.findByUsernameContaining(pattern, page, size);
+    }
+
+    /**
+     * Handles an invalidation broadcast by another node.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] fields = new String(message.getBody(), StandardCharsets.UTF_8)
+                .split(String.valueOf(FIELD_SEPARATOR), -1);
+        if (fields.length != 4) {
+            log.warn("Ignoring malformed user cache invalidation message");
+            return;
+        }
+        if (nodeId.equals(fields[0])) {
+            return;
+        }
+        log.debug("Received user cache invalidation for ID: {}", fields[1]);
+        membershipFilter.add(emptyToNull(fields[2]), emptyToNull(fields[3]));
+        // Refill from the primary: a replica may not have the other node's write yet
+        delegate.recordRemoteWrite(emptyToNull(fields[1]), emptyToNull(fields[2]), emptyToNull(fields[3]));
+        evict(emptyToNull(fields[1]), emptyToNull(fields[2]), emptyToNull(fields[3]));
+    }
+
+    /**
+     * Resolves a secondary index entry to the cached user, dropping the index entry if the user is gone.
+     */
+    private GenericUser<R> lookup(Cache<String, String> index, String key) {
+        if (key == null) {
+            return null;
+        }
+        String id = index.getIfPresent(key);
+        if (id == null) {
+            return null;
+        }
+        GenericUser<R> user = usersById.getIfPresent(id);
+        if (user == null) {
+            index.invalidate(key);
+        }
+        return user;
+    }
+
+    /**
+     * Returns true if a normalized identifier was recently looked up and matched neither a username nor an email.
+     */
+    private boolean isIdentifierAbsent(String key) {
+        return absentUsernames.getIfPresent(key) != null && absentEmails.getIfPresent(key) != null;
+    }
+
+    private void markIdentifierAbsent(String key) {
+        absentUsernames.put(key, Boolean.TRUE);
+        absentEmails.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Copies the user's mutable state: the role set and the attribute map (values are shared).
+     */
+    private GenericUser<R> copy(GenericUser<R> user) {
+        return user.toBuilder()
+                .roles(user.getRoles() != null ? new HashSet<>(user.getRoles()) : new HashSet<>())
+                .attributes(user.getAttributes() != null ? new HashMap<>(user.getAttributes()) : new HashMap<>())
+                .build();
+    }
+
+    /**
+     * Caches a private copy of the user and returns the given instance, which the caller owns.
+     */
+    private GenericUser<R> cache(GenericUser<R> user) {
+        String id = user.getId().toString();
+        usersById.put(id, copy(user));
+        if (user.getUsername() != null) {
+            idsByUsername.put(AuthUserEntity.normalizeIdentifier(user.getUsername()), id);
+        }
+        if (user.getEmail() != null) {
+            idsByEmail.put(user.getEmail(), id);
+        }
+        return user;
+    }
+
+    /**
+     * Evicts the user immediately and again once the current transaction commits, so a concurrent
+     * read cannot repopulate the cache with the pre-commit row; other nodes are notified after commit.
+     */
+    private void invalidate(String id, String username, String email) {
+        membershipFilter.add(username, email);
+        evict(id, username, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id, username, email);
+                    publish(id, username, email);
+                }
+            });
+        } else {
+            publish(id, username, email);
+        }
+    }
+
+    private void evict(String id, String username, String email) {
+        if (id != null) {
+            GenericUser<R> previous = usersById.getIfPresent(id);
+            usersById.invalidate(id);
+            if (previous != null) {
+                invalidateKey(idsByUsername, AuthUserEntity.normalizeIdentifier(previous.getUsername()));
+                invalidateKey(idsByEmail, previous.getEmail());
+            }
+        }
+        String usernameKey = AuthUserEntity.normalizeIdentifier(username);
+        invalidateKey(idsByUsername, usernameKey);
+        invalidateKey(idsByEmail, email);
+        // An identifier lookup caches a miss under both indexes, so clear the key from both
+        invalidateKey(absentUsernames, usernameKey);
+        invalidateKey(absentUsernames, email);
+        invalidateKey(absentEmails, usernameKey);
+        invalidateKey(absentEmails, email);
+    }
+
+    private static void invalidateKey(Cache<String, ?> index, String key) {
+        if (key != null) {
+            index.invalidate(key);
+        }
+    }
+
+    private void publish(String id, String username, String email) {
+        if (!invalidationEnabled) {
+            return;
+        }
+        String payload = nodeId + FIELD_SEPARATOR + nullToEmpty(id) + FIELD_SEPARATOR
+                + nullToEmpty(username) + FIELD_SEPARATOR + nullToEmpty(email);
+        try {
+            redisTemplate.convertAndSend(invalidationChannel, payload);
+        } catch (Exception e) {
+            log.error("Failed to publish user cache invalidation for ID: {}", id, e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,149 @@
+package com.unik.auth.adapters.cache;
+
+import com.unik.auth.adapters.persistence.AuthUserEntity;
+import com.unik.auth.adapters.persistence.AuthUserRepository;
+import com.unik.auth.adapters.persistence.ReadConsistencyContext;
+import com.unik.auth.adapters.persistence.UserIdentifierView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Node-local probabilistic membership filter over normalized usernames and emails.
+ * A negative answer means the identifier is certainly not registered; a positive answer
+ * must be confirmed against the database. The filter is built from a streaming scan of
+ * {@code auth_users} at startup and reports every identifier as possibly present until then.
+ * <p>
+ * Registrations on other nodes arrive through best-effort broadcasts, so a lost message would leave a
+ * taken identifier reported as absent. The filter is therefore rebuilt from the primary every
+ * {@code cache.users.membership-filter.rebuild-interval-ms}, which bounds how long such a miss lasts.
+ * </p>
+ */
+@Slf4j
+@Component
+public class IdentifierMembershipFilter {
+
+    private final AuthUserRepository authUserRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private volatile Filters current;
+    private volatile Filters building;
+    private volatile boolean ready;
+
+    public IdentifierMembershipFilter(
+            AuthUserRepository authUserRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${cache.users.membership-filter.enabled:true}") boolean enabled,
+            @Value("${cache.users.membership-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${cache.users.membership-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.authUserRepository = authUserRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new Filters(expectedInsertions, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Populates a fresh filter from the primary and swaps it in. Identifiers added while the scan
+     * runs go into both the current and the fresh filter, so no registration is missed.
+     */
+    @Scheduled(initialDelayString = "${cache.users.membership-filter.rebuild-interval-ms:900000}",
+            fixedDelayString = "${cache.users.membership-filter.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Filters fresh = new Filters(expectedInsertions, falsePositiveRate);
+        building = fresh;
+        // A lagging replica could miss a registration whose broadcast only reached the old filter
+        ReadConsistencyContext.pin();
+        try {
+            long count = readOnlyTransaction.execute(status -> {
+                try (Stream<UserIdentifierView> identifiers = authUserRepository.streamAllIdentifiers()) {
+                    return identifiers.mapToLong(view -> {
+                        fresh.add(view.getUsername(), view.getEmail());
+                        return 1L;
+                    }).sum();
+                }
+            });
+            current = fresh;
+            ready = true;
+            log.info("Identifier membership filter built from {} users in {} ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to build identifier membership filter; keeping the previous one", e);
+        } finally {
+            ReadConsistencyContext.unpin();
+            building = null;
+        }
+    }
+
+    /**
+     * Records a registered username and email.
+     */
+    public void add(String username, String email) {
+        if (!enabled) {
+            return;
+        }
+        // Read before current: once the swap clears it, current is already the fresh filter
+        Filters fresh = building;
+        current.add(username, email);
+        if (fresh != null) {
+            fresh.add(username, email);
+        }
+    }
+
+    /**
+     * Returns true if the username is certainly not registered.
+     */
+    public boolean isUsernameAbsent(String username) {
+        return ready && username != null && !current.usernames.mightContain(normalize(username));
+    }
+
+    /**
+     * Returns true if the email is certainly not registered.
+     */
+    public boolean isEmailAbsent(String email) {
+        return ready && email != null && !current.emails.mightContain(normalize(email));
+    }
+
+    private static String normalize(String identifier) {
+        return AuthUserEntity.normalizeIdentifier(identifier);
+    }
+
+    private static final class Filters {
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        private Filters(long expectedInsertions, double falsePositiveRate) {
+            this.usernames = new BloomFilter(expectedInsertions, falsePositiveRate);
+            this.emails = new BloomFilter(expectedInsertions, falsePositiveRate);
+        }
+
+        private void add(String username, String email) {
+            if (username != null) {
+                usernames.put(normalize(username));
+            }
+            if (email != null) {
+                emails.put(normalize(email));
+            }
+        }
+    }
+}
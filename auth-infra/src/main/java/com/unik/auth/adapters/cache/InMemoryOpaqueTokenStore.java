@@ -0,0 +1,93 @@
+package com.unik.auth.adapters.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.unik.auth.adapters.security.OpaqueTokenStore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local opaque token records for single-node deployments. Each entry expires with its token;
+ * records are lost on restart, which signs every client out. Only the records live here: token epochs
+ * and the session registry are kept in Redis whatever the token mode, so Redis is still required.
+ */
+@Component
+@ConditionalOnProperty(name = "security.token.opaque.store", havingValue = "memory")
+public class InMemoryOpaqueTokenStore implements OpaqueTokenStore {
+
+    private final Cache<String, Entry<String>> records;
+    private final Cache<String, Entry<Set<String>>> sets;
+
+    public InMemoryOpaqueTokenStore(@Value("${security.token.opaque.memory.max-size:1000000}") long maxSize) {
+        this.records = newCache(maxSize);
+        this.sets = newCache(maxSize);
+    }
+
+    @Override
+    public void save(String key, String record, Duration ttl) {
+        records.put(key, new Entry<>(record, ttl.toNanos()));
+    }
+
+    @Override
+    public String find(String key) {
+        Entry<String> entry = records.getIfPresent(key);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    @Override
+    public void delete(String key) {
+        records.invalidate(key);
+    }
+
+    @Override
+    public void addMember(String key, String member, Duration ttl) {
+        sets.asMap().compute(key, (k, entry) -> {
+            Set<String> members = entry != null ? entry.getValue() : ConcurrentHashMap.newKeySet();
+            members.add(member);
+            return new Entry<>(members, ttl.toNanos());
+        });
+    }
+
+    @Override
+    public Set<String> removeMembers(String key) {
+        Entry<Set<String>> entry = sets.asMap().remove(key);
+        return entry != null ? entry.getValue() : Set.of();
+    }
+
+    private static <V> Cache<String, Entry<V>> newCache(long maxSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry<V>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry<V> entry, long currentTime) {
+                        return entry.getTtlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry<V> entry, long currentTime, long currentDuration) {
+                        return entry.getTtlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry<V> entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Entry<V> {
+        private final V value;
+        private final long ttlNanos;
+    }
+}
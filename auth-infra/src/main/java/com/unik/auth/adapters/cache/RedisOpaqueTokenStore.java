@@ -0,0 +1,85 @@
+package com.unik.auth.adapters.cache;
+
+import com.unik.auth.adapters.security.OpaqueTokenStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Opaque token records in Redis through {@link RedisTokenStore}; each record expires with its token.
+ * Session sets are Redis sets, read and deleted in one pipelined round trip.
+ */
+@Component
+@ConditionalOnProperty(name = "security.token.opaque.store", havingValue = "redis", matchIfMissing = true)
+public class RedisOpaqueTokenStore implements OpaqueTokenStore {
+
+    private final RedisTokenStore tokenStore;
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public RedisOpaqueTokenStore(
+            RedisTokenStore tokenStore,
+            StringRedisTemplate redisTemplate,
+            @Value("${security.token.opaque.key-prefix:auth:token:}") String keyPrefix
+    ) {
+        this.tokenStore = tokenStore;
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Override
+    public void save(String key, String record, Duration ttl) {
+        tokenStore.storeToken(keyPrefix + key, record, ttl);
+    }
+
+    @Override
+    public String find(String key) {
+        return tokenStore.getToken(keyPrefix + key);
+    }
+
+    @Override
+    public void delete(String key) {
+        tokenStore.deleteToken(keyPrefix + key);
+    }
+
+    @Override
+    public void addMember(String key, String member, Duration ttl) {
+        String setKey = keyPrefix + key;
+        pipelined(operations -> {
+            operations.opsForSet().add(setKey, member);
+            operations.expire(setKey, ttl);
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<String> removeMembers(String key) {
+        String setKey = keyPrefix + key;
+        List<Object> results = pipelined(operations -> {
+            operations.opsForSet().members(setKey);
+            operations.delete(setKey);
+        });
+        Set<String> members = (Set<String>) results.get(0);
+        return members != null ? members : Set.of();
+    }
+
+    private List<Object> pipelined(Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+}
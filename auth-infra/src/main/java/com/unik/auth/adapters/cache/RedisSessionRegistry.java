@@ -0,0 +1,216 @@
+package com.unik.auth.adapters.cache;
+
+import com.unik.auth.ports.output.SessionRegistryPort;
+import com.unik.auth.ports.output.dto.SessionInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Session registry kept in Redis as two keys per user: a sorted set of session IDs scored by expiry
+ * in epoch milliseconds, and a hash of session ID to device, address and timestamps.
+ * Every access trims expired members with {@code ZREMRANGEBYSCORE} in the same pipeline, so there is no
+ * background scan; metadata left behind by trimmed sessions is removed the next time the sessions are listed.
+ * Refreshing runs as a Lua script so the metadata is only written for a session that is still active.
+ * Both keys share a hash tag so the pipelines and the script also work on a cluster.
+ */
+@Slf4j
+@Component
+public class RedisSessionRegistry implements SessionRegistryPort {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final int MAX_DEVICE_LENGTH = 256;
+
+    /**
+     * KEYS: sessions, metadata. ARGV: now in epoch milliseconds, session ID, encoded metadata.
+     * Trims expired sessions, then updates the metadata if the session is active and drops it otherwise.
+     */
+    private static final RedisScript<Long> REFRESH_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+            if redis.call('ZSCORE', KEYS[1], ARGV[2]) then
+                redis.call('HSET', KEYS[2], ARGV[2], ARGV[3])
+                return 1
+            end
+            redis.call('HDEL', KEYS[2], ARGV[2])
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration keyTtl;
+
+    public RedisSessionRegistry(
+            StringRedisTemplate redisTemplate,
+            @Value("${security.sessions.key-prefix:auth:sessions:}") String keyPrefix,
+            @Value("${security.sessions.key-ttl-seconds:${security.jwt.refresh-token-validity-seconds:86400}}") long keyTtlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.keyTtl = Duration.ofSeconds(keyTtlSeconds);
+    }
+
+    @Override
+    public void register(String userId, SessionInfo session) {
+        String sessions = sessionsKey(userId);
+        String metadata = metadataKey(userId);
+        Duration remaining = Duration.between(Instant.now(), session.getExpiresAt());
+        Duration ttl = remaining.compareTo(keyTtl) > 0 ? remaining : keyTtl;
+        pipelined(operations -> {
+            trim(operations, sessions);
+            operations.opsForZSet().add(sessions, session.getSessionId(), session.getExpiresAt().toEpochMilli());
+            operations.opsForHash().put(metadata, session.getSessionId(), encode(session));
+            operations.expire(sessions, ttl);
+            operations.expire(metadata, ttl);
+        });
+        log.debug("Registered session {} for user: {}", session.getSessionId(), userId);
+    }
+
+    @Override
+    public boolean refresh(String userId, SessionInfo session) {
+        String sessions = sessionsKey(userId);
+        String metadata = metadataKey(userId);
+        Long active = redisTemplate.execute(REFRESH_SCRIPT, List.of(sessions, metadata),
+                Long.toString(System.currentTimeMillis()), session.getSessionId(), encode(session));
+        if (active == null || active == 0L) {
+            log.debug("Rejected refresh of inactive session {} for user: {}", session.getSessionId(), userId);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SessionInfo> list(String userId) {
+        String sessions = sessionsKey(userId);
+        String metadata = metadataKey(userId);
+        List<Object> results = pipelined(operations -> {
+            trim(operations, sessions);
+            operations.opsForZSet().rangeWithScores(sessions, 0, -1);
+            operations.opsForHash().entries(metadata);
+        });
+        Set<TypedTuple<String>> members = (Set<TypedTuple<String>>) results.get(1);
+        Map<Object, Object> entries = (Map<Object, Object>) results.get(2);
+
+        List<SessionInfo> active = new ArrayList<>();
+        Set<Object> orphaned = new HashSet<>(entries.keySet());
+        for (TypedTuple<String> member : members) {
+            String sessionId = member.getValue();
+            orphaned.remove(sessionId);
+            Instant expiresAt = Instant.ofEpochMilli(member.getScore().longValue());
+            active.add(decode(sessionId, (String) entries.get(sessionId), expiresAt));
+        }
+        if (!orphaned.isEmpty()) {
+            redisTemplate.opsForHash().delete(metadata, orphaned.toArray());
+        }
+        active.sort(Comparator.comparing(SessionInfo::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return active;
+    }
+
+    @Override
+    public boolean revoke(String userId, String sessionId) {
+        String sessions = sessionsKey(userId);
+        List<Object> results = pipelined(operations -> {
+            operations.opsForZSet().score(sessions, sessionId);
+            operations.opsForZSet().remove(sessions, sessionId);
+            operations.opsForHash().delete(metadataKey(userId), sessionId);
+        });
+        Double expiry = (Double) results.get(0);
+        boolean revoked = expiry != null && expiry > System.currentTimeMillis();
+        log.debug("Revoked session {} for user: {} (active: {})", sessionId, userId, revoked);
+        return revoked;
+    }
+
+    @Override
+    public long revokeAll(String userId) {
+        String sessions = sessionsKey(userId);
+        List<Object> results = pipelined(operations -> {
+            operations.opsForZSet().count(sessions, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+            operations.delete(sessions);
+            operations.delete(metadataKey(userId));
+        });
+        Long revoked = (Long) results.get(0);
+        log.info("Revoked {} session(s) for user: {}", revoked, userId);
+        return revoked != null ? revoked : 0L;
+    }
+
+    /**
+     * Runs the commands in one pipelined round trip and returns their results in order.
+     */
+    private List<Object> pipelined(Consumer<RedisOperations<String, String>> commands) {
+        return redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                commands.accept((RedisOperations<String, String>) operations);
+                return null;
+            }
+        });
+    }
+
+    private static void trim(RedisOperations<String, String> operations, String sessions) {
+        operations.opsForZSet().removeRangeByScore(sessions, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+    }
+
+    private String sessionsKey(String userId) {
+        return keyPrefix + "{" + userId + "}";
+    }
+
+    private String metadataKey(String userId) {
+        return keyPrefix + "{" + userId + "}:meta";
+    }
+
+    private static String encode(SessionInfo session) {
+        return clean(session.getDevice()) + FIELD_SEPARATOR + clean(session.getIpAddress()) + FIELD_SEPARATOR
+                + toMillis(session.getCreatedAt()) + FIELD_SEPARATOR + toMillis(session.getLastSeenAt());
+    }
+
+    private static SessionInfo decode(String sessionId, String payload, Instant expiresAt) {
+        String[] fields = payload != null ? payload.split(String.valueOf(FIELD_SEPARATOR), -1) : new String[0];
+        if (fields.length != 4) {
+            return new SessionInfo(sessionId, null, null, null, null, expiresAt);
+        }
+        return new SessionInfo(sessionId, emptyToNull(fields[0]), emptyToNull(fields[1]),
+                fromMillis(fields[2]), fromMillis(fields[3]), expiresAt);
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return "";
+        }
+        String cleaned = value.replace(FIELD_SEPARATOR, ' ');
+        return cleaned.length() > MAX_DEVICE_LENGTH ? cleaned.substring(0, MAX_DEVICE_LENGTH) : cleaned;
+    }
+
+    private static String toMillis(Instant instant) {
+        return instant != null ? Long.toString(instant.toEpochMilli()) : "";
+    }
+
+    private static Instant fromMillis(String value) {
+        try {
+            return value.isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
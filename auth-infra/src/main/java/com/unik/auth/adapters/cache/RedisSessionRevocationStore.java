@@ -0,0 +1,105 @@
+package com.unik.auth.adapters.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unik.auth.ports.output.SessionRevocationPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Revoked sessions kept in Redis and mirrored in a node-local cache.
+ * Revoking writes one key that expires with the longest access token and broadcasts the session ID over
+ * Redis pub/sub, so every node marks it revoked without a round trip; the cache TTL bounds how long a node
+ * that missed the broadcast keeps accepting the session's tokens. Revocation is final, so revoked entries
+ * stay cached until the key would have expired anyway.
+ */
+@Slf4j
+@Component
+public class RedisSessionRevocationStore implements SessionRevocationPort, MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String channel;
+    private final Duration revocationTtl;
+    private final Cache<String, Boolean> revoked;
+    private final Cache<String, Boolean> active;
+
+    public RedisSessionRevocationStore(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${security.sessions.revocation.key-prefix:auth:revoked-session:}") String keyPrefix,
+            @Value("${security.sessions.revocation.channel:auth:revoked-session}") String channel,
+            @Value("${security.jwt.access-token-validity-seconds:3600}") long accessTokenValiditySeconds,
+            @Value("${security.sessions.revocation.cache.max-size:100000}") long maxSize,
+            @Value("${security.sessions.revocation.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.revocationTtl = Duration.ofSeconds(accessTokenValiditySeconds);
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(revocationTtl)
+                .build();
+        this.active = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @Override
+    public void revoke(String sessionId) {
+        redisTemplate.opsForValue().set(keyPrefix + sessionId, "1", revocationTtl);
+        markRevoked(sessionId);
+        try {
+            redisTemplate.convertAndSend(channel, sessionId);
+        } catch (Exception e) {
+            log.error("Failed to broadcast revoked session: {}", sessionId, e);
+        }
+        log.debug("Revoked access tokens of session: {}", sessionId);
+    }
+
+    @Override
+    public boolean isRevoked(String sessionId) {
+        if (revoked.getIfPresent(sessionId) != null) {
+            return true;
+        }
+        if (active.getIfPresent(sessionId) != null) {
+            return false;
+        }
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(keyPrefix + sessionId))) {
+            markRevoked(sessionId);
+            return true;
+        }
+        active.put(sessionId, Boolean.TRUE);
+        return false;
+    }
+
+    /**
+     * Handles a revocation broadcast, including this node's own.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sessionId = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (sessionId.isBlank()) {
+            log.warn("Ignoring malformed revoked session message");
+            return;
+        }
+        markRevoked(sessionId);
+    }
+
+    private void markRevoked(String sessionId) {
+        revoked.put(sessionId, Boolean.TRUE);
+        active.invalidate(sessionId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.unik.auth.adapters.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unik.auth.ports.output.TokenEpochPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Token epochs kept in Redis and mirrored in a node-local cache.
+ * Revoking is a single {@code INCR}; the new epoch is broadcast over Redis pub/sub so every node
+ * updates its copy without a round trip, and the cache TTL bounds staleness if a broadcast is missed.
+ * Epochs only move forward, so a late or duplicate broadcast never resurrects revoked tokens.
+ */
+@Slf4j
+@Component
+public class RedisTokenEpochStore implements TokenEpochPort, MessageListener {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final String channel;
+    private final Cache<String, Long> epochs;
+
+    public RedisTokenEpochStore(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${security.token-epoch.key-prefix:auth:token-epoch:}") String keyPrefix,
+            @Value("${security.token-epoch.channel:auth:token-epoch}") String channel,
+            @Value("${security.token-epoch.cache.max-size:100000}") long maxSize,
+            @Value("${security.token-epoch.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.channel = channel;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    @Override
+    public long currentEpoch(String userId) {
+        return epochs.get(userId, this::load);
+    }
+
+    @Override
+    public long revokeAll(String userId) {
+        Long epoch = redisTemplate.opsForValue().increment(keyPrefix + userId);
+        if (epoch == null) {
+            throw new IllegalStateException("Token epoch increment returned no value");
+        }
+        advance(userId, epoch);
+        try {
+            redisTemplate.convertAndSend(channel, userId + FIELD_SEPARATOR + epoch);
+        } catch (Exception e) {
+            log.error("Failed to broadcast token epoch for user: {}", userId, e);
+        }
+        log.info("Revoked all tokens for user: {} (epoch {})", userId, epoch);
+        return epoch;
+    }
+
+    /**
+     * Handles an epoch broadcast, including this node's own.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(FIELD_SEPARATOR);
+        if (separator <= 0) {
+            log.warn("Ignoring malformed token epoch message");
+            return;
+        }
+        try {
+            advance(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed token epoch message");
+        }
+    }
+
+    private void advance(String userId, long epoch) {
+        epochs.asMap().merge(userId, epoch, Math::max);
+    }
+
+    private Long load(String userId) {
+        String value = redisTemplate.opsForValue().get(keyPrefix + userId);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+}
@@ -0,0 +1,71 @@
+package com.unik.auth.adapters.email;
+
+import com.unik.auth.config.IoThreads;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.AsyncNotificationServicePort;
+import com.unik.auth.ports.output.NotificationServicePort;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Async notification adapter over the primary notification port, so coalescing and the
+ * configured outbox or spool still apply. Each call queues its notification in its own transaction.
+ */
+@Component
+public class AsyncNotificationAdapter<U extends BaseUser<R>, R> implements AsyncNotificationServicePort<U, R>, DisposableBean {
+
+    private final NotificationServicePort<U, R> notificationService;
+    private final ExecutorService executor;
+
+    public AsyncNotificationAdapter(
+            NotificationServicePort<U, R> notificationService,
+            IoThreads ioThreads,
+            @Value("${notification.async.threads:4}") int threads
+    ) {
+        this.notificationService = notificationService;
+        this.executor = ioThreads.executor("notification-async-", threads);
+    }
+
+    @Override
+    public CompletionStage<Void> sendWelcomeNotification(U user) {
+        return CompletableFuture.runAsync(() -> notificationService.sendWelcomeNotification(user), executor);
+    }
+
+    @Override
+    public CompletionStage<Void> sendPasswordChangeNotification(U user) {
+        return CompletableFuture.runAsync(() -> notificationService.sendPasswordChangeNotification(user), executor);
+    }
+
+    @Override
+    public CompletionStage<Void> sendPasswordResetNotification(U user, String temporaryPassword) {
+        return CompletableFuture.runAsync(
+                () -> notificationService.sendPasswordResetNotification(user, temporaryPassword), executor);
+    }
+
+    @Override
+    public CompletionStage<Void> sendAccountStatusNotification(U user, String status) {
+        return CompletableFuture.runAsync(() -> notificationService.sendAccountStatusNotification(user, status), executor);
+    }
+
+    @Override
+    public CompletionStage<Void> sendLoginNotification(U user, String ipAddress, String userAgent) {
+        return CompletableFuture.runAsync(
+                () -> notificationService.sendLoginNotification(user, ipAddress, userAgent), executor);
+    }
+
+    @Override
+    public CompletionStage<Void> sendSecurityAlertNotification(U user, String alertType, String details) {
+        return CompletableFuture.runAsync(
+                () -> notificationService.sendSecurityAlertNotification(user, alertType, details), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
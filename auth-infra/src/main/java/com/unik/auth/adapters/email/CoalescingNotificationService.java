@@ -0,0 +1,269 @@
+package com.unik.auth.adapters.email;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.NotificationServicePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalescing, rate-limiting decorator in front of the queued notification service.
+ * <p>
+ * Login and security alert notifications are grouped per recipient and type: the first event of a
+ * window is sent right away, further events within {@code notification.coalescing.window-seconds}
+ * are folded into a single digest sent when the window closes; logins as a dedicated login digest. Every recipient is also capped at
+ * {@code max-per-recipient} of these mails per {@code rate-window-seconds}; events over the cap wait
+ * in the digest until a token is available. All other notifications pass straight through so they
+ * keep joining the caller's transaction. State is node-local.
+ * </p>
+ */
+@Slf4j
+@Primary
+@Component
+public class CoalescingNotificationService<U extends BaseUser<R>, R> implements NotificationServicePort<U, R> {
+
+    private static final int MAX_DISTINCT_VALUES = 20;
+
+    private final NotificationServicePort<U, R> delegate;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxPerRecipient;
+    private final double refillPerMilli;
+    private final Map<String, PendingDigest> pending = new ConcurrentHashMap<>();
+    private final Cache<String, TokenBucket> rateLimits;
+
+    public CoalescingNotificationService(
+            @Qualifier("queuedNotificationService") NotificationServicePort<U, R> delegate,
+            @Value("${notification.coalescing.enabled:true}") boolean enabled,
+            @Value("${notification.coalescing.window-seconds:300}") long windowSeconds,
+            @Value("${notification.coalescing.max-per-recipient:5}") int maxPerRecipient,
+            @Value("${notification.coalescing.rate-window-seconds:3600}") long rateWindowSeconds
+    ) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.windowMillis = Duration.ofSeconds(windowSeconds).toMillis();
+        this.maxPerRecipient = maxPerRecipient;
+        this.refillPerMilli = (double) maxPerRecipient / Duration.ofSeconds(rateWindowSeconds).toMillis();
+        this.rateLimits = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(rateWindowSeconds))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public void sendWelcomeNotification(U user) {
+        delegate.sendWelcomeNotification(user);
+    }
+
+    @Override
+    public void sendPasswordChangeNotification(U user) {
+        delegate.sendPasswordChangeNotification(user);
+    }
+
+    @Override
+    public void sendPasswordResetNotification(U user, String temporaryPassword) {
+        delegate.sendPasswordResetNotification(user, temporaryPassword);
+    }
+
+    @Override
+    public void sendAccountStatusNotification(U user, String status) {
+        delegate.sendAccountStatusNotification(user, status);
+    }
+
+    @Override
+    public void sendLoginNotification(U user, String ipAddress, String userAgent) {
+        if (!enabled || coalesce(NotificationType.LOGIN, user, ipAddress, userAgent)) {
+            delegate.sendLoginNotification(user, ipAddress, userAgent);
+        }
+    }
+
+    @Override
+    public void sendLoginDigestNotification(U user, int loginCount, long windowMinutes, String ipAddresses, String userAgents) {
+        delegate.sendLoginDigestNotification(user, loginCount, windowMinutes, ipAddresses, userAgents);
+    }
+
+    @Override
+    public void sendSecurityAlertNotification(U user, String alertType, String details) {
+        if (!enabled || coalesce(NotificationType.SECURITY_ALERT, user, alertType, details)) {
+            delegate.sendSecurityAlertNotification(user, alertType, details);
+        }
+    }
+
+    /**
+     * Sends the digests of all windows that have closed.
+     */
+    @Scheduled(fixedDelayString = "${notification.coalescing.flush-interval-ms:1000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, PendingDigest> entry : pending.entrySet()) {
+            PendingDigest digest = entry.getValue();
+            if (now - digest.windowStart < windowMillis || !pending.remove(entry.getKey(), digest)) {
+                continue;
+            }
+            if (digest.count == 0) {
+                continue;
+            }
+            if (!tryAcquire(digest.recipient)) {
+                // Over the recipient's cap: keep accumulating into the next window
+                digest.windowStart = now;
+                pending.merge(entry.getKey(), digest, PendingDigest::absorb);
+                continue;
+            }
+            try {
+                sendDigest(digest);
+            } catch (Exception e) {
+                log.error("Failed to send {} digest to user: {}", digest.type, digest.recipient, e);
+            }
+        }
+    }
+
+    /**
+     * Records the event and returns true if it should be sent on its own right now.
+     */
+    private boolean coalesce(NotificationType type, U user, String primary, String secondary) {
+        String recipient = user.getId().toString();
+        boolean[] sendNow = {false};
+        pending.compute(type.name() + ':' + recipient, (key, digest) -> {
+            if (digest == null) {
+                digest = new PendingDigest(type, recipient, user, System.currentTimeMillis());
+                if (tryAcquire(recipient)) {
+                    sendNow[0] = true;
+                    return digest;
+                }
+            }
+            digest.record(user, primary, secondary);
+            return digest;
+        });
+        return sendNow[0];
+    }
+
+    private void sendDigest(PendingDigest digest) {
+        long minutes = Math.max(1, Duration.ofMillis(windowMillis).toMinutes());
+        if (digest.type == NotificationType.LOGIN) {
+            delegate.sendLoginDigestNotification(digest.user, digest.count, minutes,
+                    summarize(digest.primaryCounts, digest.otherPrimary),
+                    String.join(", ", digest.secondaryValues)
+                            + (digest.secondaryValues.size() >= MAX_DISTINCT_VALUES ? " and others" : ""));
+        } else {
+            String alertType = digest.primaryCounts.size() == 1 && digest.otherPrimary == 0
+                    ? digest.primaryCounts.keySet().iterator().next()
+                    : "Multiple security alerts";
+            delegate.sendSecurityAlertNotification(digest.user, alertType,
+                    digest.count + " more alert(s) within " + minutes + " minute(s): "
+                            + summarize(digest.primaryCounts, digest.otherPrimary)
+                            + ". Latest: " + digest.lastSecondary);
+        }
+    }
+
+    private static String summarize(Map<String, Integer> counts, int others) {
+        StringBuilder summary = new StringBuilder();
+        counts.forEach((value, count) -> {
+            if (summary.length() > 0) {
+                summary.append(", ");
+            }
+            summary.append(value).append(" (").append(count).append(')');
+        });
+        if (others > 0) {
+            summary.append(" and ").append(others).append(" other(s)");
+        }
+        return summary.toString();
+    }
+
+    private boolean tryAcquire(String recipient) {
+        return rateLimits.get(recipient, key -> new TokenBucket(maxPerRecipient)).tryAcquire(maxPerRecipient, refillPerMilli);
+    }
+
+    /**
+     * Events of one type for one recipient collected during the current window.
+     */
+    private final class PendingDigest {
+        private final NotificationType type;
+        private final String recipient;
+        private final Map<String, Integer> primaryCounts = new LinkedHashMap<>();
+        private final Set<String> secondaryValues = new LinkedHashSet<>();
+        private volatile U user;
+        private volatile long windowStart;
+        private int count;
+        private int otherPrimary;
+        private String lastSecondary;
+
+        private PendingDigest(NotificationType type, String recipient, U user, long windowStart) {
+            this.type = type;
+            this.recipient = recipient;
+            this.user = user;
+            this.windowStart = windowStart;
+        }
+
+        private void record(U user, String primary, String secondary) {
+            this.user = user;
+            count++;
+            String key = primary == null ? "unknown" : primary;
+            if (primaryCounts.containsKey(key) || primaryCounts.size() < MAX_DISTINCT_VALUES) {
+                primaryCounts.merge(key, 1, Integer::sum);
+            } else {
+                otherPrimary++;
+            }
+            if (secondary != null && secondaryValues.size() < MAX_DISTINCT_VALUES) {
+                secondaryValues.add(secondary);
+            }
+            lastSecondary = secondary;
+        }
+
+        private PendingDigest absorb(PendingDigest older) {
+            older.primaryCounts.forEach((value, n) -> {
+                if (primaryCounts.containsKey(value) || primaryCounts.size() < MAX_DISTINCT_VALUES) {
+                    primaryCounts.merge(value, n, Integer::sum);
+                } else {
+                    otherPrimary += n;
+                }
+            });
+            otherPrimary += older.otherPrimary;
+            for (String value : older.secondaryValues) {
+                if (secondaryValues.size() < MAX_DISTINCT_VALUES) {
+                    secondaryValues.add(value);
+                }
+            }
+            count += older.count;
+            windowStart = Math.min(windowStart, older.windowStart);
+            if (lastSecondary == null) {
+                lastSecondary = older.lastSecondary;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Token bucket holding up to the recipient cap, refilled evenly over the rate window.
+     */
+    private static final class TokenBucket {
+        private double tokens;
+        private long lastRefill = System.currentTimeMillis();
+
+        private TokenBucket(int capacity) {
+            this.tokens = capacity;
+        }
+
+        private synchronized boolean tryAcquire(int capacity, double refillPerMilli) {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerMilli);
+            lastRefill = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
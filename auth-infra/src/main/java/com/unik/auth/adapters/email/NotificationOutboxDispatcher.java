@@ -0,0 +1,182 @@
+package com.unik.auth.adapters.email;
+
+import com.unik.auth.adapters.persistence.NotificationOutboxEntity;
+import com.unik.auth.adapters.persistence.NotificationOutboxRepository;
+import com.unik.auth.config.IoThreads;
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.UserRepositoryPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Background dispatcher for the notification outbox.
+ * Each poll claims a batch of due rows with {@code FOR UPDATE SKIP LOCKED}, so several nodes can
+ * dispatch concurrently without sending the same row twice, and leases them by pushing their next
+ * attempt time forward before committing. Mail is then sent with no transaction open; delivered rows
+ * are marked as such and failed ones are rescheduled with exponential backoff until the attempt limit.
+ * A node that dies mid-batch leaves its rows to be picked up again when the lease expires.
+ * Secret arguments are decrypted only for sending and wiped once a row is delivered or given up on;
+ * processed rows are purged after a retention period.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notification.delivery", havingValue = "outbox", matchIfMissing = true)
+public class NotificationOutboxDispatcher<R> implements DisposableBean {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final UserRepositoryPort<GenericUser<R>, R> userRepository;
+    private final SmtpEmailService<GenericUser<R>, R> emailService;
+    private final NotificationPayloadCipher payloadCipher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService deliveryExecutor;
+
+    @Value("${notification.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${notification.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${notification.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${notification.outbox.backoff.initial-seconds:5}")
+    private long initialBackoffSeconds;
+
+    @Value("${notification.outbox.backoff.max-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${notification.outbox.retention.delivered-hours:24}")
+    private long deliveredRetentionHours;
+
+    @Value("${notification.outbox.retention.failed-hours:168}")
+    private long failedRetentionHours;
+
+    public NotificationOutboxDispatcher(
+            NotificationOutboxRepository outboxRepository,
+            UserRepositoryPort<GenericUser<R>, R> userRepository,
+            SmtpEmailService<GenericUser<R>, R> emailService,
+            NotificationPayloadCipher payloadCipher,
+            PlatformTransactionManager transactionManager,
+            IoThreads ioThreads,
+            @Value("${notification.outbox.concurrency:4}") int concurrency
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.payloadCipher = payloadCipher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryExecutor = ioThreads.executor("notification-outbox-", concurrency);
+    }
+
+    /**
+     * Claims and delivers due notifications until no full batch is left.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<NotificationOutboxEntity> batch;
+        do {
+            batch = claimBatch();
+            // Deliver the batch concurrently so the SMTP engine can spread it over its open connections
+            CompletableFuture.allOf(batch.stream()
+                    .map(entry -> CompletableFuture.runAsync(() -> deliver(entry), deliveryExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Deletes delivered and failed rows older than their retention period.
+     */
+    @Scheduled(fixedDelayString = "${notification.outbox.retention.purge-interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int delivered = outboxRepository.deleteProcessedBefore(
+                NotificationOutboxEntity.Status.DELIVERED, now.minusHours(deliveredRetentionHours));
+        int failed = outboxRepository.deleteProcessedBefore(
+                NotificationOutboxEntity.Status.FAILED, now.minusHours(failedRetentionHours));
+        if (delivered + failed > 0) {
+            log.info("Purged {} delivered and {} failed notification(s) from the outbox", delivered, failed);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        deliveryExecutor.shutdownNow();
+    }
+
+    private List<NotificationOutboxEntity> claimBatch() {
+        List<NotificationOutboxEntity> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<NotificationOutboxEntity> due = outboxRepository.lockDue(
+                    NotificationOutboxEntity.Status.PENDING, now, PageRequest.of(0, batchSize));
+            for (NotificationOutboxEntity entry : due) {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            }
+            return due;
+        });
+        return claimed == null ? List.of() : new ArrayList<>(claimed);
+    }
+
+    private void deliver(NotificationOutboxEntity entry) {
+        try {
+            Optional<GenericUser<R>> user = userRepository.findById(UserId.fromUuid(entry.getUserId()));
+            if (user.isEmpty()) {
+                complete(entry, NotificationOutboxEntity.Status.FAILED, "User no longer exists");
+                return;
+            }
+            String payload = entry.getType().hasSecretArguments()
+                    ? payloadCipher.decrypt(entry.getPayload())
+                    : entry.getPayload();
+            entry.getType().send(emailService, user.get(), NotificationType.decodeArguments(payload));
+            complete(entry, NotificationOutboxEntity.Status.DELIVERED, null);
+        } catch (Exception e) {
+            log.warn("Delivery of {} notification {} failed (attempt {})", entry.getType(), entry.getId(), entry.getAttempts(), e);
+            if (entry.getAttempts() >= maxAttempts) {
+                complete(entry, NotificationOutboxEntity.Status.FAILED, e.getMessage());
+            } else {
+                reschedule(entry, e.getMessage());
+            }
+        }
+    }
+
+    private void complete(NotificationOutboxEntity entry, NotificationOutboxEntity.Status status, String error) {
+        entry.setStatus(status);
+        entry.setLastError(truncate(error));
+        entry.setProcessedAt(LocalDateTime.now());
+        if (entry.getType().hasSecretArguments()) {
+            entry.setPayload(null);
+        }
+        if (status == NotificationOutboxEntity.Status.DELIVERED) {
+            entry.setDeliveredAt(LocalDateTime.now());
+        } else {
+            log.error("Giving up on {} notification {} after {} attempt(s): {}", entry.getType(), entry.getId(), entry.getAttempts(), error);
+        }
+        outboxRepository.save(entry);
+    }
+
+    private void reschedule(NotificationOutboxEntity entry, String error) {
+        long backoff = Math.min(maxBackoffSeconds, initialBackoffSeconds << Math.min(entry.getAttempts() - 1, 30));
+        entry.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoff));
+        entry.setLastError(truncate(error));
+        outboxRepository.save(entry);
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1024 ? error : error.substring(0, 1024);
+    }
+}
@@ -0,0 +1,80 @@
+package com.unik.auth.adapters.email;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts queued notification arguments that carry a secret, such as a temporary password, so the
+ * outbox table and the spool never hold them in plaintext. Uses AES-256-GCM with a random IV per value;
+ * the key is the SHA-256 digest of {@code notification.payload-key}, which defaults to the JWT secret.
+ */
+@Component
+public class NotificationPayloadCipher {
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKeySpec key;
+    private final SecureRandom random = new SecureRandom();
+
+    public NotificationPayloadCipher(@Value("${notification.payload-key:${security.jwt.secret}}") String secret) {
+        try {
+            this.key = new SecretKeySpec(
+                    MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Encrypts the value into base64 text; null stays null.
+     */
+    public String encrypt(String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_BYTES + ciphertext.length)
+                    .put(iv).put(ciphertext).array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt notification payload", e);
+        }
+    }
+
+    /**
+     * Decrypts a value produced by {@link #encrypt}; null stays null.
+     * @throws IllegalArgumentException if the value was tampered with or encrypted under another key
+     */
+    public String decrypt(String encrypted) {
+        if (encrypted == null) {
+            return null;
+        }
+        try {
+            byte[] data = Base64.getDecoder().decode(encrypted);
+            if (data.length <= IV_BYTES) {
+                throw new IllegalArgumentException("Malformed notification payload");
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+            return new String(cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Could not decrypt notification payload", e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.unik.auth.adapters.email;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped record log used to park notifications on local disk.
+ * <p>
+ * Records are appended to fixed-size segment files as {@code [length][crc32][bytes]}; a length of -1
+ * marks the rest of a segment as unused and 0 marks the end of written data. A single consumer reads
+ * records in order and persists its position in a small cursor file. Segments wholly behind the cursor
+ * are deleted. On open, the tail of the last segment is scanned and the log is truncated after the last
+ * record whose checksum matches, so a record torn by a crash is dropped rather than replayed as garbage.
+ * Delivery is at least once: a record consumed but not yet acknowledged is replayed after a restart.
+ * On POSIX file systems the directory and its files are created readable by the owner only.
+ * </p>
+ */
+@Slf4j
+final class NotificationSpool implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final boolean POSIX = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    private static final Set<PosixFilePermission> DIRECTORY_PERMISSIONS = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> FILE_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+    private final MappedByteBuffer cursor;
+
+    private long writeSegment;
+    private MappedByteBuffer writeBuffer;
+    private int writePosition;
+
+    private long readSegment;
+    private MappedByteBuffer readBuffer;
+    private int readPosition;
+
+    /**
+     * Opens the spool in the directory, recovering the cursor and the write position.
+     * @param directory the spool directory, created if missing and restricted to the owner
+     * @param segmentBytes the size of each segment file
+     * @param fsync whether to force every append and acknowledgement to disk
+     */
+    NotificationSpool(Path directory, int segmentBytes, boolean fsync) throws IOException {
+        this.directory = createPrivateDirectory(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.cursor = map(directory.resolve("cursor"), 16);
+
+        List<Long> segments = listSegments();
+        if (segments.isEmpty()) {
+            segments.add(0L);
+        }
+        readSegment = cursor.getLong(0);
+        readPosition = cursor.getInt(8);
+        if (cursor.getInt(12) != cursorChecksum(readSegment, readPosition) || !segments.contains(readSegment)) {
+            readSegment = segments.get(0);
+            readPosition = 0;
+        }
+        for (long segment : segments) {
+            if (segment < readSegment) {
+                deleteSegment(segment);
+            }
+        }
+        readBuffer = map(segmentPath(readSegment), segmentBytes);
+
+        writeSegment = segments.get(segments.size() - 1);
+        writeBuffer = writeSegment == readSegment ? readBuffer : map(segmentPath(writeSegment), segmentBytes);
+        writePosition = recoverWritePosition(writeBuffer, writeSegment == readSegment ? readPosition : 0);
+        log.info("Opened notification spool in {} (read {}:{}, write {}:{})",
+                directory, readSegment, readPosition, writeSegment, writePosition);
+    }
+
+    /**
+     * Appends a record and wakes the consumer.
+     * @param record the record bytes
+     * @throws IllegalArgumentException if the record does not fit in a segment
+     */
+    synchronized void append(byte[] record) {
+        if (record.length == 0 || record.length > segmentBytes - 2 * HEADER_BYTES) {
+            throw new IllegalArgumentException("Spool record size out of range: " + record.length);
+        }
+        if (writePosition + HEADER_BYTES + record.length + 4 > segmentBytes) {
+            roll();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        // Write the body before the length so a reader never sees a length without its bytes
+        writeBuffer.putInt(writePosition + 4, (int) crc.getValue());
+        writeBuffer.put(writePosition + HEADER_BYTES, record);
+        writeBuffer.putInt(writePosition, record.length);
+        writePosition += HEADER_BYTES + record.length;
+        if (fsync) {
+            writeBuffer.force();
+        }
+        notifyAll();
+    }
+
+    /**
+     * Returns the oldest unacknowledged record, waiting up to the timeout for one to be appended.
+     * @return the record, or null if none arrived in time
+     */
+    synchronized byte[] peek(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            skipToNextSegmentIfDone();
+            if (readSegment != writeSegment || readPosition < writePosition) {
+                int length = readBuffer.getInt(readPosition);
+                byte[] record = new byte[length];
+                readBuffer.get(readPosition + HEADER_BYTES, record);
+                return record;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return null;
+            }
+            wait(remaining);
+        }
+    }
+
+    /**
+     * Acknowledges the record returned by the last {@link #peek} and persists the cursor.
+     */
+    synchronized void acknowledge() {
+        readPosition += HEADER_BYTES + readBuffer.getInt(readPosition);
+        skipToNextSegmentIfDone();
+        saveCursor();
+    }
+
+    @Override
+    public synchronized void close() {
+        writeBuffer.force();
+        saveCursor();
+        cursor.force();
+    }
+
+    private void skipToNextSegmentIfDone() {
+        while (readSegment < writeSegment && isEndOfSegment(readBuffer, readPosition)) {
+            long finished = readSegment;
+            readSegment++;
+            readPosition = 0;
+            readBuffer = readSegment == writeSegment ? writeBuffer : mapUnchecked(segmentPath(readSegment));
+            saveCursor();
+            // Compaction: a segment behind the cursor is never read again
+            deleteSegment(finished);
+        }
+    }
+
+    private boolean isEndOfSegment(MappedByteBuffer buffer, int position) {
+        return position + HEADER_BYTES > segmentBytes || buffer.getInt(position) <= 0;
+    }
+
+    private void roll() {
+        writeBuffer.putInt(writePosition, END_OF_SEGMENT);
+        writeBuffer.force();
+        writeSegment++;
+        writeBuffer = mapUnchecked(segmentPath(writeSegment));
+        writePosition = 0;
+        log.debug("Rolled notification spool to segment {}", writeSegment);
+    }
+
+    private void saveCursor() {
+        cursor.putLong(0, readSegment);
+        cursor.putInt(8, readPosition);
+        cursor.putInt(12, cursorChecksum(readSegment, readPosition));
+        if (fsync) {
+            cursor.force();
+        }
+    }
+
+    /**
+     * Scans valid records from the given position and clears anything after the last one.
+     */
+    private int recoverWritePosition(MappedByteBuffer buffer, int from) {
+        int position = from;
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_BYTES + length > segmentBytes) {
+                break;
+            }
+            byte[] record = new byte[length];
+            buffer.get(position + HEADER_BYTES, record);
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                log.warn("Dropping torn notification spool record at {}:{}", writeSegment, position);
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        if (position + 4 <= segmentBytes && buffer.getInt(position) != 0) {
+            for (int i = position; i < segmentBytes; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        return position;
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(segments::add);
+        }
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    private void deleteSegment(long segment) {
+        try {
+            Files.deleteIfExists(segmentPath(segment));
+        } catch (IOException e) {
+            log.warn("Failed to delete consumed notification spool segment {}", segment, e);
+        }
+    }
+
+    private MappedByteBuffer mapUnchecked(Path path) {
+        try {
+            return map(path, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        FileAttribute<?>[] attributes = POSIX
+                ? new FileAttribute<?>[]{PosixFilePermissions.asFileAttribute(FILE_PERMISSIONS)}
+                : new FileAttribute<?>[0];
+        try (FileChannel channel = FileChannel.open(path,
+                EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), attributes)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Creates the directory if needed and, on POSIX file systems, tightens an existing one to owner-only access.
+     */
+    private static Path createPrivateDirectory(Path directory) throws IOException {
+        if (!POSIX) {
+            return Files.createDirectories(directory);
+        }
+        Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(DIRECTORY_PERMISSIONS));
+        Files.setPosixFilePermissions(directory, DIRECTORY_PERMISSIONS);
+        return directory;
+    }
+
+    private static int cursorChecksum(long segment, int position) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(12).putLong(segment).putInt(position).array());
+        return (int) crc.getValue();
+    }
+}
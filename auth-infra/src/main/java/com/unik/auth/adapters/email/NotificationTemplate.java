@@ -0,0 +1,144 @@
+package com.unik.auth.adapters.email;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Notification template parsed once into alternating literal and placeholder segments.
+ * Placeholders are written as {@code {name}} and bound by position to the variable names given at
+ * compile time; unknown names are kept as literal text. Rendering walks the segments into a single
+ * builder sized up front, so its cost depends only on the template and the values, not on the number
+ * of variables. HTML templates escape the values but not the literal markup.
+ */
+final class NotificationTemplate {
+
+    private static final NotificationTemplate EMPTY = new NotificationTemplate(new String[]{""}, new int[0], 0, false);
+
+    /** literals[i] precedes slots[i]; the last literal follows the last slot. */
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+    private final boolean html;
+
+    private NotificationTemplate(String[] literals, int[] slots, int literalLength, boolean html) {
+        this.literals = literals;
+        this.slots = slots;
+        this.literalLength = literalLength;
+        this.html = html;
+    }
+
+    /**
+     * Parses a plain text template.
+     * @param template the template text, may be null or empty
+     * @param variables the placeholder names, in the order their values are passed to {@link #render}
+     */
+    static NotificationTemplate compile(String template, String... variables) {
+        return compile(template, false, variables);
+    }
+
+    /**
+     * Parses an HTML template whose placeholder values are escaped when rendered.
+     */
+    static NotificationTemplate compileHtml(String template, String... variables) {
+        return compile(template, true, variables);
+    }
+
+    private static NotificationTemplate compile(String template, boolean html, String... variables) {
+        if (template == null || template.isEmpty()) {
+            return EMPTY;
+        }
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int literalLength = 0;
+        int position = 0;
+        while (position < template.length()) {
+            int open = template.indexOf('{', position);
+            int close = open < 0 ? -1 : template.indexOf('}', open + 1);
+            if (close < 0) {
+                literal.append(template, position, template.length());
+                break;
+            }
+            int slot = indexOf(variables, template.substring(open + 1, close));
+            if (slot < 0) {
+                literal.append(template, position, close + 1);
+            } else {
+                literal.append(template, position, open);
+                literals.add(literal.toString());
+                literalLength += literal.length();
+                literal.setLength(0);
+                slots.add(slot);
+            }
+            position = close + 1;
+        }
+        literals.add(literal.toString());
+        literalLength += literal.length();
+        return new NotificationTemplate(
+                literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray(),
+                literalLength,
+                html);
+    }
+
+    /**
+     * Returns true if the template renders to an empty string.
+     */
+    boolean isEmpty() {
+        return slots.length == 0 && literalLength == 0;
+    }
+
+    /**
+     * Renders the template.
+     * @param values the placeholder values, in the order of the variables given at compile time; null renders as empty
+     * @return the rendered text
+     */
+    String render(String... values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        int capacity = literalLength;
+        for (int slot : slots) {
+            String value = value(values, slot);
+            capacity += html ? value.length() + (value.length() >> 3) : value.length();
+        }
+        StringBuilder out = new StringBuilder(capacity);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            String value = value(values, slots[i]);
+            if (html) {
+                appendEscaped(out, value);
+            } else {
+                out.append(value);
+            }
+        }
+        return out.append(literals[slots.length]).toString();
+    }
+
+    private static String value(String[] values, int slot) {
+        String value = slot < values.length ? values[slot] : null;
+        return value == null ? "" : value;
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static int indexOf(String[] variables, String name) {
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,75 @@
+package com.unik.auth.adapters.email;
+
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.NotificationServicePort;
+
+import java.util.regex.Pattern;
+
+/**
+ * Notification kinds that can be queued for later delivery, with the port call that sends each one.
+ * Queued notifications store their arguments beyond the user as strings, in port parameter order.
+ */
+public enum NotificationType {
+    WELCOME,
+    PASSWORD_CHANGE,
+    PASSWORD_RESET,
+    ACCOUNT_STATUS,
+    LOGIN,
+    LOGIN_DIGEST,
+    SECURITY_ALERT;
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final Pattern FIELD_SEPARATOR_PATTERN = Pattern.compile(String.valueOf(FIELD_SEPARATOR));
+    private static final String[] NO_ARGUMENTS = new String[0];
+
+    /**
+     * Sends a queued notification of this type through the given port.
+     */
+    public <U extends BaseUser<R>, R> void send(NotificationServicePort<U, R> port, U user, String[] arguments) {
+        switch (this) {
+            case WELCOME -> port.sendWelcomeNotification(user);
+            case PASSWORD_CHANGE -> port.sendPasswordChangeNotification(user);
+            case PASSWORD_RESET -> port.sendPasswordResetNotification(user, argument(arguments, 0));
+            case ACCOUNT_STATUS -> port.sendAccountStatusNotification(user, argument(arguments, 0));
+            case LOGIN -> port.sendLoginNotification(user, argument(arguments, 0), argument(arguments, 1));
+            case LOGIN_DIGEST -> port.sendLoginDigestNotification(user, Integer.parseInt(argument(arguments, 0)),
+                    Long.parseLong(argument(arguments, 1)), argument(arguments, 2), argument(arguments, 3));
+            case SECURITY_ALERT -> port.sendSecurityAlertNotification(user, argument(arguments, 0), argument(arguments, 1));
+        }
+    }
+
+    /**
+     * Returns true if the arguments carry a secret that must be encrypted while queued and discarded once handled.
+     */
+    public boolean hasSecretArguments() {
+        return this == PASSWORD_RESET;
+    }
+
+    /**
+     * Joins notification arguments with the unit separator character; returns null for no arguments.
+     */
+    public static String encodeArguments(String... arguments) {
+        if (arguments.length == 0) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        for (int i = 0; i < arguments.length; i++) {
+            if (i > 0) {
+                encoded.append(FIELD_SEPARATOR);
+            }
+            encoded.append(arguments[i] == null ? "" : arguments[i]);
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Splits arguments joined by {@link #encodeArguments}.
+     */
+    public static String[] decodeArguments(String encoded) {
+        return encoded == null ? NO_ARGUMENTS : FIELD_SEPARATOR_PATTERN.split(encoded, -1);
+    }
+
+    private static String argument(String[] arguments, int index) {
+        return index < arguments.length ? arguments[index] : "";
+    }
+}
@@ -0,0 +1,84 @@
+package com.unik.auth.adapters.email;
+
+import com.unik.auth.adapters.persistence.NotificationOutboxEntity;
+import com.unik.auth.adapters.persistence.NotificationOutboxRepository;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.NotificationServicePort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification port implementation that records each notification in the outbox table instead of
+ * sending it. The row joins the caller's transaction, so it is committed together with the user
+ * change that triggered it; {@link NotificationOutboxDispatcher} delivers it afterwards.
+ * Arguments carrying a secret are stored encrypted with {@link NotificationPayloadCipher}.
+ */
+@Slf4j
+@Component
+@Qualifier("queuedNotificationService")
+@ConditionalOnProperty(name = "notification.delivery", havingValue = "outbox", matchIfMissing = true)
+public class OutboxNotificationService<U extends BaseUser<R>, R> implements NotificationServicePort<U, R> {
+
+    private final NotificationOutboxRepository outboxRepository;
+    private final NotificationPayloadCipher payloadCipher;
+
+    public OutboxNotificationService(NotificationOutboxRepository outboxRepository, NotificationPayloadCipher payloadCipher) {
+        this.outboxRepository = outboxRepository;
+        this.payloadCipher = payloadCipher;
+    }
+
+    @Override
+    public void sendWelcomeNotification(U user) {
+        enqueue(NotificationType.WELCOME, user);
+    }
+
+    @Override
+    public void sendPasswordChangeNotification(U user) {
+        enqueue(NotificationType.PASSWORD_CHANGE, user);
+    }
+
+    @Override
+    public void sendPasswordResetNotification(U user, String temporaryPassword) {
+        enqueue(NotificationType.PASSWORD_RESET, user, temporaryPassword);
+    }
+
+    @Override
+    public void sendAccountStatusNotification(U user, String status) {
+        enqueue(NotificationType.ACCOUNT_STATUS, user, status);
+    }
+
+    @Override
+    public void sendLoginNotification(U user, String ipAddress, String userAgent) {
+        enqueue(NotificationType.LOGIN, user, ipAddress, userAgent);
+    }
+
+    @Override
+    public void sendLoginDigestNotification(U user, int loginCount, long windowMinutes, String ipAddresses, String userAgents) {
+        enqueue(NotificationType.LOGIN_DIGEST, user, Integer.toString(loginCount), Long.toString(windowMinutes),
+                ipAddresses, userAgents);
+    }
+
+    @Override
+    public void sendSecurityAlertNotification(U user, String alertType, String details) {
+        enqueue(NotificationType.SECURITY_ALERT, user, alertType, details);
+    }
+
+    private void enqueue(NotificationType type, U user, String... arguments) {
+        LocalDateTime now = LocalDateTime.now();
+        String payload = NotificationType.encodeArguments(arguments);
+        outboxRepository.save(NotificationOutboxEntity.builder()
+                .type(type)
+                .status(NotificationOutboxEntity.Status.PENDING)
+                .userId(UserId.of(user.getId().toString()).toUuid())
+                .payload(type.hasSecretArguments() ? payloadCipher.encrypt(payload) : payload)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+        log.debug("Queued {} notification for user: {}", type, user.getId());
+    }
+}
@@ -0,0 +1,207 @@
+package com.unik.auth.adapters.email;
+
+import com.unik.auth.config.IoThreads;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends mail over a fixed set of long-lived, authenticated SMTP connections.
+ * Each connection is owned by one worker thread, so the number of workers caps the concurrency
+ * towards the server. Workers drain queued messages in batches and send them back to back over
+ * their open transport, paying the connect, STARTTLS and AUTH handshake only when a connection is
+ * (re)opened. Connections are recycled after a number of messages and closed when idle.
+ * Workers are platform threads even when virtual threads are enabled: Jakarta Mail's {@code Transport}
+ * blocks on network I/O inside {@code synchronized} methods, which would pin a virtual thread's carrier
+ * for the whole send. Their number is small and fixed, so nothing is lost.
+ * Every queued message's future is completed, even when sending it throws unexpectedly, so a
+ * failure never leaves a caller waiting or takes a worker down.
+ */
+@Slf4j
+@Component
+public class SmtpDeliveryEngine implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<PendingMessage> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final int batchSize;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMillis;
+    private final long sendTimeoutMillis;
+    private volatile boolean running = true;
+
+    public SmtpDeliveryEngine(
+            JavaMailSenderImpl mailSender,
+            IoThreads ioThreads,
+            @Value("${email.pool.max-connections:4}") int maxConnections,
+            @Value("${email.pool.batch-size:50}") int batchSize,
+            @Value("${email.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${email.pool.idle-timeout-seconds:30}") long idleTimeoutSeconds,
+            @Value("${email.pool.send-timeout-seconds:60}") long sendTimeoutSeconds
+    ) {
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        this.sendTimeoutMillis = TimeUnit.SECONDS.toMillis(sendTimeoutSeconds);
+        for (int i = 0; i < maxConnections; i++) {
+            workers.add(ioThreads.startPlatform("smtp-connection-" + i, this::work));
+        }
+    }
+
+    /**
+     * Queues a message for delivery.
+     * @param message the message to send
+     * @return a future completed when the server has accepted the message
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        PendingMessage pending = new PendingMessage(message, new CompletableFuture<>());
+        if (!running) {
+            pending.result().completeExceptionally(new MailSendException("SMTP delivery engine is shut down"));
+        } else {
+            queue.add(pending);
+        }
+        return pending.result();
+    }
+
+    /**
+     * Queues a message and waits until the server has accepted it, up to the send timeout.
+     * A message that times out may still be sent later, so a retry can deliver it twice.
+     * @param message the message to send
+     * @throws MailSendException if delivery failed or did not finish in time
+     */
+    public void send(MimeMessage message) {
+        try {
+            submit(message).get(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while sending message", e);
+        } catch (TimeoutException e) {
+            throw new MailSendException("Timed out after " + sendTimeoutMillis + " ms waiting for the SMTP server", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MailSendException mailSendException) {
+                throw mailSendException;
+            }
+            throw new MailSendException("Failed to send message", e.getCause());
+        }
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        PendingMessage pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new MailSendException("SMTP delivery engine is shut down"));
+        }
+    }
+
+    private void work() {
+        Transport transport = null;
+        int sentOnConnection = 0;
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingMessage first = queue.poll(idleTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    transport = close(transport);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+
+                for (PendingMessage pending : batch) {
+                    if (transport == null || sentOnConnection >= maxMessagesPerConnection || !transport.isConnected()) {
+                        close(transport);
+                        transport = connect();
+                        sentOnConnection = 0;
+                    }
+                    try {
+                        MimeMessage message = pending.message();
+                        message.saveChanges();
+                        transport.sendMessage(message, message.getAllRecipients());
+                        sentOnConnection++;
+                        pending.result().complete(null);
+                    } catch (Exception e) {
+                        // The connection may be in an unknown state; reopen it for the next message
+                        transport = close(transport);
+                        pending.result().completeExceptionally(new MailSendException("Failed to send message", e));
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (MessagingException e) {
+                log.warn("Could not open SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort(), e);
+                transport = close(transport);
+                for (PendingMessage pending : batch) {
+                    pending.result().completeExceptionally(new SmtpUnavailableException("Could not connect to SMTP server", e));
+                }
+            } catch (RuntimeException e) {
+                log.error("Unexpected failure in SMTP worker", e);
+                transport = close(transport);
+                for (PendingMessage pending : batch) {
+                    pending.result().completeExceptionally(new MailSendException("Failed to send message", e));
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+        close(transport);
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Failed to close SMTP connection", e);
+            }
+        }
+        return null;
+    }
+
+    private static final class PendingMessage {
+        private final MimeMessage message;
+        private final CompletableFuture<Void> result;
+
+        private PendingMessage(MimeMessage message, CompletableFuture<Void> result) {
+            this.message = message;
+            this.result = result;
+        }
+
+        private MimeMessage message() {
+            return message;
+        }
+
+        private CompletableFuture<Void> result() {
+            return result;
+        }
+    }
+}
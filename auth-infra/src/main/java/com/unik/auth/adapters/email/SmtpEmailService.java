@@ -2,16 +2,29 @@ package com.unik.auth.adapters.email;
 
 import com.unik.auth.domain.entities.BaseUser;
 import com.unik.auth.ports.output.NotificationServicePort;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends notifications over SMTP through the pooled {@link SmtpDeliveryEngine}, waiting for each
+ * message to be accepted. Subjects and bodies come from the configured templates, compiled once at
+ * startup; a type with an HTML template is sent as multipart/alternative. Delivery failures are
+ * logged and rethrown so the outbox dispatcher can retry them; application code goes through
+ * {@link OutboxNotificationService}.
+ */
 @Slf4j
 @Service
 public class SmtpEmailService<U extends BaseUser<R>, R> implements NotificationServicePort<U, R> {
-    private final JavaMailSender mailSender;
+    private final SmtpDeliveryEngine deliveryEngine;
 
     @Value("${notification.email.from:noreply@example.com}")
     private String fromEmail;
@@ -22,170 +35,188 @@ public class SmtpEmailService<U extends BaseUser<R>, R> implements NotificationS
     @Value("${notification.email.welcome.text:Hello {displayName},\n\nWelcome to our platform! Your account has been created successfully.\n\nRegards,\nThe Team}")
     private String welcomeText;
 
+    @Value("${notification.email.welcome.html:}")
+    private String welcomeHtml;
+
     @Value("${notification.email.password-change.subject:Your password has been changed}")
     private String passwordChangeSubject;
 
     @Value("${notification.email.password-change.text:Hello {displayName},\n\nYour password has been changed successfully. If you did not make this change, please contact support immediately.\n\nRegards,\nThe Team}")
     private String passwordChangeText;
 
+    @Value("${notification.email.password-change.html:}")
+    private String passwordChangeHtml;
+
     @Value("${notification.email.password-reset.subject:Password Reset Request}")
     private String passwordResetSubject;
 
     @Value("${notification.email.password-reset.text:Hello {displayName},\n\nYou have requested a password reset. Use the following temporary password or link to reset your password:\n\n{temporaryPassword}\n\nIf you did not request this reset, please ignore this email.\n\nRegards,\nThe Team}")
     private String passwordResetText;
 
+    @Value("${notification.email.password-reset.html:}")
+    private String passwordResetHtml;
+
     @Value("${notification.email.account-status.subject:Account Status Update}")
     private String accountStatusSubject;
 
     @Value("${notification.email.account-status.text:Hello {displayName},\n\nYour account status has been updated to: {status}.\n\nIf you have any questions, please contact support.\n\nRegards,\nThe Team}")
     private String accountStatusText;
 
+    @Value("${notification.email.account-status.html:}")
+    private String accountStatusHtml;
+
     @Value("${notification.email.login.subject:New Login Detected}")
     private String loginSubject;
 
     @Value("${notification.email.login.text:Hello {displayName},\n\nA new login to your account has been detected.\n\nIP Address: {ipAddress}\nBrowser/Device: {userAgent}\n\nIf this was not you, please contact support immediately.\n\nRegards,\nThe Team}")
     private String loginText;
 
+    @Value("${notification.email.login.html:}")
+    private String loginHtml;
+
+    @Value("${notification.email.login-digest.subject:Recent Logins to Your Account}")
+    private String loginDigestSubject;
+
+    @Value("${notification.email.login-digest.text:Hello {displayName},\n\nThere were {loginCount} more login(s) to your account within {windowMinutes} minute(s).\n\nIP Addresses: {ipAddresses}\nBrowsers/Devices: {userAgents}\n\nIf these were not you, please contact support immediately.\n\nRegards,\nThe Team}")
+    private String loginDigestText;
+
+    @Value("${notification.email.login-digest.html:}")
+    private String loginDigestHtml;
+
     @Value("${notification.email.security-alert.subject:Security Alert}")
     private String securityAlertSubject;
 
     @Value("${notification.email.security-alert.text:Hello {displayName},\n\nA security alert has been triggered for your account.\n\nAlert Type: {alertType}\nDetails: {details}\n\nIf you did not perform this action, please contact support immediately.\n\nRegards,\nThe Team}")
     private String securityAlertText;
 
+    @Value("${notification.email.security-alert.html:}")
+    private String securityAlertHtml;
+
     @Value("${notification.email.enabled:false}")
     private boolean emailEnabled;
 
     @Value("${notification.email.signature:Regards,\nThe Team}")
     private String emailSignature;
 
-    public SmtpEmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    private CompiledMail welcomeMail;
+    private CompiledMail passwordChangeMail;
+    private CompiledMail passwordResetMail;
+    private CompiledMail accountStatusMail;
+    private CompiledMail loginMail;
+    private CompiledMail loginDigestMail;
+    private CompiledMail securityAlertMail;
+
+    public SmtpEmailService(SmtpDeliveryEngine deliveryEngine) {
+        this.deliveryEngine = deliveryEngine;
+    }
+
+    /**
+     * Parses every configured template once. Templates may use {displayName}, {username}, {email}
+     * and {signature}, plus the placeholders specific to their notification type.
+     */
+    @PostConstruct
+    void compileTemplates() {
+        welcomeMail = new CompiledMail(welcomeSubject, welcomeText, welcomeHtml);
+        passwordChangeMail = new CompiledMail(passwordChangeSubject, passwordChangeText, passwordChangeHtml);
+        passwordResetMail = new CompiledMail(passwordResetSubject, passwordResetText, passwordResetHtml, "temporaryPassword");
+        accountStatusMail = new CompiledMail(accountStatusSubject, accountStatusText, accountStatusHtml, "status");
+        loginMail = new CompiledMail(loginSubject, loginText, loginHtml, "ipAddress", "userAgent");
+        loginDigestMail = new CompiledMail(loginDigestSubject, loginDigestText, loginDigestHtml,
+                "loginCount", "windowMinutes", "ipAddresses", "userAgents");
+        securityAlertMail = new CompiledMail(securityAlertSubject + ": {alertType}", securityAlertText, securityAlertHtml, "alertType", "details");
     }
 
     @Override
     public void sendWelcomeNotification(U user) {
-        if (!emailEnabled) {
-            log.info("Email notifications disabled. Skipping welcome email to: {}", user.getEmail());
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getEmail());
-            message.setSubject(welcomeSubject);
-
-            // Replace template placeholders
-            String text = welcomeText
-                .replace("{displayName}", user.getDisplayName())
-                .replace("{username}", user.getUsername())
-                .replace("{email}", user.getEmail());
-
-            message.setText(text);
-            mailSender.send(message);
-            log.info("Welcome email sent to: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send welcome email to: {}", user.getEmail(), e);
-        }
+        send(user, "welcome", welcomeMail);
     }
 
     @Override
     public void sendPasswordChangeNotification(U user) {
-        if (!emailEnabled) {
-            log.info("Email notifications disabled. Skipping password change email to: {}", user.getEmail());
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getEmail());
-            message.setSubject(passwordChangeSubject);
-            message.setText("Hello " + user.getDisplayName() + ",\n\nYour password has been changed successfully. If you did not make this change, please contact support immediately.\n\nRegards,\nThe Team");
-            mailSender.send(message);
-            log.info("Password change email sent to: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send password change email to: {}", user.getEmail(), e);
-        }
+        send(user, "password change", passwordChangeMail);
     }
 
     @Override
     public void sendPasswordResetNotification(U user, String temporaryPassword) {
-        if (!emailEnabled) {
-            log.info("Email notifications disabled. Skipping password reset email to: {}", user.getEmail());
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getEmail());
-            message.setSubject(passwordResetSubject);
-            message.setText("Hello " + user.getDisplayName() + ",\n\nYou have requested a password reset. Use the following temporary password or link to reset your password:\n\n" + temporaryPassword + "\n\nIf you did not request this reset, please ignore this email.\n\nRegards,\nThe Team");
-            mailSender.send(message);
-            log.info("Password reset email sent to: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send password reset email to: {}", user.getEmail(), e);
-        }
+        send(user, "password reset", passwordResetMail, temporaryPassword);
     }
 
     @Override
     public void sendAccountStatusNotification(U user, String status) {
-        if (!emailEnabled) {
-            log.info("Email notifications disabled. Skipping account status email to: {}", user.getEmail());
-            return;
-        }
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getEmail());
-            message.setSubject(accountStatusSubject);
-            message.setText("Hello " + user.getDisplayName() + ",\n\nYour account status has been updated to: " + status + ".\n\nIf you have any questions, please contact support.\n\nRegards,\nThe Team");
-            mailSender.send(message);
-            log.info("Account status email sent to: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send account status email to: {}", user.getEmail(), e);
-        }
+        send(user, "account status", accountStatusMail, status);
     }
 
     @Override
     public void sendLoginNotification(U user, String ipAddress, String userAgent) {
-        if (!emailEnabled) {
-            log.info("Email notifications disabled. Skipping login notification email to: {}", user.getEmail());
-            return;
-        }
+        send(user, "login notification", loginMail, ipAddress, userAgent);
+    }
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getEmail());
-            message.setSubject(loginSubject);
-            message.setText("Hello " + user.getDisplayName() + ",\n\nA new login to your account has been detected.\n\nIP Address: " + ipAddress + "\nBrowser/Device: " + userAgent + "\n\nIf this was not you, please contact support immediately.\n\nRegards,\nThe Team");
-            mailSender.send(message);
-            log.info("Login notification email sent to: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send login notification email to: {}", user.getEmail(), e);
-        }
+    @Override
+    public void sendLoginDigestNotification(U user, int loginCount, long windowMinutes, String ipAddresses, String userAgents) {
+        send(user, "login digest", loginDigestMail, Integer.toString(loginCount), Long.toString(windowMinutes),
+                ipAddresses, userAgents);
     }
 
     @Override
     public void sendSecurityAlertNotification(U user, String alertType, String details) {
+        send(user, "security alert", securityAlertMail, alertType, details);
+    }
+
+    /**
+     * Renders the mail for the user and sends it over a pooled SMTP connection, waiting until the server accepts it.
+     */
+    private void send(U user, String kind, CompiledMail mail, String... arguments) {
         if (!emailEnabled) {
-            log.info("Email notifications disabled. Skipping security alert email to: {}", user.getEmail());
+            log.info("Email notifications disabled. Skipping {} email to: {}", kind, user.getEmail());
             return;
         }
 
+        String[] values = new String[4 + arguments.length];
+        values[0] = user.getDisplayName();
+        values[1] = user.getUsername();
+        values[2] = user.getEmail();
+        values[3] = emailSignature;
+        System.arraycopy(arguments, 0, values, 4, arguments.length);
+
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getEmail());
-            message.setSubject(securityAlertSubject + ": " + alertType);
-            message.setText("Hello " + user.getDisplayName() + ",\n\nA security alert has been triggered for your account.\n\nAlert Type: " + alertType + "\nDetails: " + details + "\n\nIf you did not perform this action, please contact support immediately.\n\nRegards,\nThe Team");
-            mailSender.send(message);
-            log.info("Security alert email sent to: {}", user.getEmail());
-        } catch (Exception e) {
-            log.error("Failed to send security alert email to: {}", user.getEmail(), e);
+            MimeMessage message = deliveryEngine.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, !mail.html.isEmpty(), StandardCharsets.UTF_8.name());
+            helper.setFrom(fromEmail);
+            helper.setTo(user.getEmail());
+            helper.setSubject(mail.subject.render(values));
+            if (mail.html.isEmpty()) {
+                helper.setText(mail.text.render(values));
+            } else {
+                helper.setText(mail.text.render(values), mail.html.render(values));
+            }
+            deliveryEngine.send(message);
+            log.info("{} email sent to: {}", kind, user.getEmail());
+        } catch (MessagingException e) {
+            log.error("Failed to prepare {} email to: {}", kind, user.getEmail(), e);
+            throw new MailPreparationException("Failed to prepare " + kind + " email", e);
+        } catch (MailException e) {
+            log.error("Failed to send {} email to: {}", kind, user.getEmail(), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Subject, plain text and optional HTML templates of one notification type, compiled once.
+     */
+    private static final class CompiledMail {
+        private static final String[] COMMON_VARIABLES = {"displayName", "username", "email", "signature"};
+
+        private final NotificationTemplate subject;
+        private final NotificationTemplate text;
+        private final NotificationTemplate html;
+
+        private CompiledMail(String subject, String text, String html, String... extraVariables) {
+            String[] variables = new String[COMMON_VARIABLES.length + extraVariables.length];
+            System.arraycopy(COMMON_VARIABLES, 0, variables, 0, COMMON_VARIABLES.length);
+            System.arraycopy(extraVariables, 0, variables, COMMON_VARIABLES.length, extraVariables.length);
+            this.subject = NotificationTemplate.compile(subject, variables);
+            this.text = NotificationTemplate.compile(text, variables);
+            this.html = NotificationTemplate.compileHtml(html, variables);
         }
     }
 }
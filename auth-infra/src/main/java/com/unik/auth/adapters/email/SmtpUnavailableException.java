@@ -0,0 +1,14 @@
+package com.unik.auth.adapters.email;
+
+import org.springframework.mail.MailSendException;
+
+/**
+ * Thrown when no connection to the SMTP server could be opened. It says nothing about the message
+ * itself, so retry logic treats it as an outage rather than a failure of that message.
+ */
+public class SmtpUnavailableException extends MailSendException {
+
+    public SmtpUnavailableException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
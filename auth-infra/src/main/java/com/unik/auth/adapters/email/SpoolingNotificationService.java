@@ -0,0 +1,202 @@
+package com.unik.auth.adapters.email;
+
+import com.unik.auth.config.IoThreads;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.NotificationServicePort;
+import com.unik.auth.ports.output.UserRepositoryPort;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Notification port implementation that parks notifications in a local {@link NotificationSpool}
+ * instead of the database outbox, selected with {@code notification.delivery=spool}.
+ * Notifications are appended after the surrounding transaction commits and replayed in order by a
+ * single background thread. A failed send is retried with exponential backoff without advancing the
+ * cursor. Outages (no SMTP connection, database unreachable) only delay delivery and never count
+ * against the record; a record that keeps failing on its own is moved to a dead-letter spool in the
+ * {@code dead-letter} subdirectory so the records behind it are not held up. The spool survives restarts.
+ * Arguments carrying a secret are encrypted with {@link NotificationPayloadCipher} before they reach the disk.
+ */
+@Slf4j
+@Component
+@Qualifier("queuedNotificationService")
+@ConditionalOnProperty(name = "notification.delivery", havingValue = "spool")
+public class SpoolingNotificationService<U extends BaseUser<R>, R> implements NotificationServicePort<U, R> {
+
+    private final NotificationSpool spool;
+    private final NotificationSpool deadLetters;
+    private final UserRepositoryPort<GenericUser<R>, R> userRepository;
+    private final SmtpEmailService<GenericUser<R>, R> emailService;
+    private final NotificationPayloadCipher payloadCipher;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxAttempts;
+    private final Thread replayThread;
+    private volatile boolean running = true;
+
+    public SpoolingNotificationService(
+            UserRepositoryPort<GenericUser<R>, R> userRepository,
+            SmtpEmailService<GenericUser<R>, R> emailService,
+            NotificationPayloadCipher payloadCipher,
+            IoThreads ioThreads,
+            @Value("${notification.spool.directory:${user.home}/.auth-service/notification-spool}") String directory,
+            @Value("${notification.spool.segment-size-mb:16}") int segmentSizeMb,
+            @Value("${notification.spool.fsync:false}") boolean fsync,
+            @Value("${notification.spool.backoff.initial-ms:1000}") long initialBackoffMillis,
+            @Value("${notification.spool.backoff.max-ms:300000}") long maxBackoffMillis,
+            @Value("${notification.spool.max-attempts:5}") int maxAttempts
+    ) throws IOException {
+        this.spool = new NotificationSpool(Path.of(directory), segmentSizeMb * 1024 * 1024, fsync);
+        this.deadLetters = new NotificationSpool(Path.of(directory, "dead-letter"), segmentSizeMb * 1024 * 1024, fsync);
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.payloadCipher = payloadCipher;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxAttempts = maxAttempts;
+        this.replayThread = ioThreads.start("notification-spool", this::replay);
+    }
+
+    @Override
+    public void sendWelcomeNotification(U user) {
+        enqueue(NotificationType.WELCOME, user);
+    }
+
+    @Override
+    public void sendPasswordChangeNotification(U user) {
+        enqueue(NotificationType.PASSWORD_CHANGE, user);
+    }
+
+    @Override
+    public void sendPasswordResetNotification(U user, String temporaryPassword) {
+        enqueue(NotificationType.PASSWORD_RESET, user, temporaryPassword);
+    }
+
+    @Override
+    public void sendAccountStatusNotification(U user, String status) {
+        enqueue(NotificationType.ACCOUNT_STATUS, user, status);
+    }
+
+    @Override
+    public void sendLoginNotification(U user, String ipAddress, String userAgent) {
+        enqueue(NotificationType.LOGIN, user, ipAddress, userAgent);
+    }
+
+    @Override
+    public void sendLoginDigestNotification(U user, int loginCount, long windowMinutes, String ipAddresses, String userAgents) {
+        enqueue(NotificationType.LOGIN_DIGEST, user, Integer.toString(loginCount), Long.toString(windowMinutes),
+                ipAddresses, userAgents);
+    }
+
+    @Override
+    public void sendSecurityAlertNotification(U user, String alertType, String details) {
+        enqueue(NotificationType.SECURITY_ALERT, user, alertType, details);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        replayThread.interrupt();
+        replayThread.join(5000);
+        spool.close();
+        deadLetters.close();
+    }
+
+    private void enqueue(NotificationType type, U user, String... arguments) {
+        String[] fields = new String[2 + arguments.length];
+        fields[0] = type.name();
+        fields[1] = user.getId().toString();
+        for (int i = 0; i < arguments.length; i++) {
+            fields[2 + i] = type.hasSecretArguments() ? payloadCipher.encrypt(arguments[i]) : arguments[i];
+        }
+        byte[] record = NotificationType.encodeArguments(fields).getBytes(StandardCharsets.UTF_8);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    spool.append(record);
+                }
+            });
+        } else {
+            spool.append(record);
+        }
+    }
+
+    private void replay() {
+        int attempts = 0;
+        int outages = 0;
+        while (running) {
+            try {
+                byte[] record = spool.peek(1000);
+                if (record == null) {
+                    continue;
+                }
+                try {
+                    deliver(record);
+                    spool.acknowledge();
+                    attempts = 0;
+                    outages = 0;
+                } catch (SmtpUnavailableException | TransientDataAccessException | CannotCreateTransactionException e) {
+                    outages++;
+                    long backoff = backoff(outages);
+                    log.warn("Notification delivery unavailable, retrying spooled notification in {} ms", backoff, e);
+                    Thread.sleep(backoff);
+                } catch (Exception e) {
+                    attempts++;
+                    if (e instanceof IllegalArgumentException || attempts >= maxAttempts) {
+                        log.error("Moving spooled notification to the dead-letter spool after {} attempt(s)", attempts, e);
+                        deadLetters.append(record);
+                        spool.acknowledge();
+                        attempts = 0;
+                    } else {
+                        long backoff = backoff(attempts);
+                        log.warn("Spooled notification delivery failed (attempt {}), retrying in {} ms", attempts, backoff, e);
+                        Thread.sleep(backoff);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private long backoff(int attempt) {
+        return Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 30));
+    }
+
+    private void deliver(byte[] record) {
+        String[] fields = NotificationType.decodeArguments(new String(record, StandardCharsets.UTF_8));
+        NotificationType type = NotificationType.valueOf(fields[0]);
+        Optional<GenericUser<R>> user = userRepository.findById(UserId.fromUuid(UUID.fromString(fields[1])));
+        if (user.isEmpty()) {
+            log.warn("Skipping spooled {} notification for missing user {}", type, fields[1]);
+            return;
+        }
+        String[] arguments = Arrays.copyOfRange(fields, 2, fields.length);
+        if (type.hasSecretArguments()) {
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = arguments[i].isEmpty() ? arguments[i] : payloadCipher.decrypt(arguments[i]);
+            }
+        }
+        type.send(emailService, user.get(), arguments);
+    }
+}
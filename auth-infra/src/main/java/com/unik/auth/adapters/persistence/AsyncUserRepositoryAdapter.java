@@ -0,0 +1,90 @@
+package com.unik.auth.adapters.persistence;
+
+import com.unik.auth.config.IoThreads;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.AsyncUserRepositoryPort;
+import com.unik.auth.ports.output.TransactionPort;
+import com.unik.auth.ports.output.UserRepositoryPort;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Async repository adapter over the synchronous repository port, including its cache.
+ * Each call runs on an I/O executor, one virtual thread per call when virtual threads are enabled,
+ * otherwise a fixed pool sized to stay within the connection pool. Each call runs in the caller's
+ * {@link ReadConsistencyContext} request scope, which is dropped when the call ends.
+ */
+@Component
+public class AsyncUserRepositoryAdapter<U extends BaseUser<R>, R> implements AsyncUserRepositoryPort<U, R>, DisposableBean {
+
+    private final UserRepositoryPort<U, R> userRepository;
+    private final TransactionPort transactionPort;
+    private final ExecutorService pool;
+    private final Executor executor;
+
+    public AsyncUserRepositoryAdapter(
+            UserRepositoryPort<U, R> userRepository,
+            TransactionPort transactionPort,
+            IoThreads ioThreads,
+            @Value("${persistence.async.threads:8}") int threads
+    ) {
+        this.userRepository = userRepository;
+        this.transactionPort = transactionPort;
+        this.pool = ioThreads.executor("user-repository-", threads);
+        this.executor = ReadConsistencyContext.propagating(pool);
+    }
+
+    @Override
+    public CompletionStage<Optional<U>> findById(UserId userId) {
+        return CompletableFuture.supplyAsync(() -> userRepository.findById(userId), executor);
+    }
+
+    @Override
+    public CompletionStage<Optional<U>> findByEmail(Email email) {
+        return CompletableFuture.supplyAsync(() -> userRepository.findByEmail(email), executor);
+    }
+
+    @Override
+    public CompletionStage<Optional<U>> findByUsername(String username) {
+        return CompletableFuture.supplyAsync(() -> userRepository.findByUsername(username), executor);
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsByEmail(Email email) {
+        return CompletableFuture.supplyAsync(() -> userRepository.existsByEmail(email), executor);
+    }
+
+    @Override
+    public CompletionStage<Boolean> existsByUsername(String username) {
+        return CompletableFuture.supplyAsync(() -> userRepository.existsByUsername(username), executor);
+    }
+
+    @Override
+    public <S extends U> CompletionStage<S> create(S user, Consumer<? super S> inTransaction) {
+        return CompletableFuture.supplyAsync(() -> transactionPort.inTransaction(() -> {
+            S created = userRepository.create(user);
+            inTransaction.accept(created);
+            return created;
+        }), executor);
+    }
+
+    @Override
+    public <S extends U> CompletionStage<S> update(S user) {
+        return CompletableFuture.supplyAsync(() -> userRepository.update(user), executor);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
@@ -2,26 +2,55 @@ package com.unik.auth.adapters.persistence;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.Locale;
 import java.util.Set;
+import java.util.UUID;
 
 @Entity
-@Table(name = "auth_users")
+@Table(name = "auth_users", uniqueConstraints = {
+        @UniqueConstraint(name = AuthUserEntity.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = AuthUserEntity.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = AuthUserEntity.UK_USERNAME_NORMALIZED, columnNames = "username_normalized")
+}, indexes = {
+        // Covering indexes for the login credential projection; InnoDB appends the primary key
+        @Index(name = "idx_auth_users_login_username",
+                columnList = "username_normalized, password_hash, enabled, locked, account_expired, credentials_expired"),
+        @Index(name = "idx_auth_users_login_email",
+                columnList = "email, password_hash, enabled, locked, account_expired, credentials_expired")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class AuthUserEntity {
+    public static final String UK_EMAIL = "uk_auth_users_email";
+    public static final String UK_USERNAME = "uk_auth_users_username";
+    public static final String UK_USERNAME_NORMALIZED = "uk_auth_users_username_normalized";
+
+    /**
+     * Time-ordered UUID assigned by the domain, stored as BINARY(16).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "BINARY(16)", length = 16)
+    private UUID id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String username;
 
+    /**
+     * Trimmed, lowercased username used for case-insensitive lookups and uniqueness.
+     */
+    @Column(name = "username_normalized", nullable = false)
+    private String usernameNormalized;
+
     @Column(nullable = false)
     private String passwordHash;
 
@@ -39,4 +68,11 @@ public class AuthUserEntity {
     private boolean credentialsExpired;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Normalizes a username or login identifier the same way as the normalized columns.
+     */
+    public static String normalizeIdentifier(String identifier) {
+        return identifier == null ? null : identifier.trim().toLowerCase(Locale.ROOT);
+    }
 }
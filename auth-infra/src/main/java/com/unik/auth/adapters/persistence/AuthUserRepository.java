@@ -1,14 +1,49 @@
 package com.unik.auth.adapters.persistence;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface AuthUserRepository extends JpaRepository<AuthUserEntity, String> {
+public interface AuthUserRepository extends JpaRepository<AuthUserEntity, UUID> {
     Optional<AuthUserEntity> findByEmail(String email);
-    Optional<AuthUserEntity> findByUsername(String username);
+    Optional<AuthUserEntity> findByUsernameNormalized(String usernameNormalized);
     boolean existsByEmail(String email);
-    boolean existsByUsername(String username);
+    boolean existsByUsernameNormalized(String usernameNormalized);
+
+    /**
+     * Finds users whose normalized username or email equals the normalized identifier, in one indexed query.
+     * At most two rows can match: one by username and one by email.
+     */
+    @Query("select u from AuthUserEntity u where u.usernameNormalized = :identifier or u.email = :identifier")
+    List<AuthUserEntity> findAllByIdentifier(@Param("identifier") String identifier);
+
+    /**
+     * Finds only the login columns of users matching the normalized identifier, served by the covering login indexes.
+     */
+    @Query("select new com.unik.auth.adapters.persistence.UserCredentialProjection("
+            + "u.id, u.usernameNormalized, u.passwordHash, u.enabled, u.locked, u.accountExpired, u.credentialsExpired) "
+            + "from AuthUserEntity u where u.usernameNormalized = :identifier or u.email = :identifier")
+    List<UserCredentialProjection> findCredentialsByIdentifier(@Param("identifier") String identifier);
+
+    /**
+     * Streams the username and email of every user. Must be consumed inside a transaction.
+     */
+    @Query("select u.username as username, u.email as email from AuthUserEntity u")
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserIdentifierView> streamAllIdentifiers();
 }
@@ -5,6 +5,7 @@ import com.unik.auth.domain.valueobjects.Email;
 import com.unik.auth.domain.valueobjects.Password;
 import com.unik.auth.domain.valueobjects.UserId;
 import com.unik.auth.ports.output.UserFactoryPort;
+import com.unik.auth.ports.output.dto.UserSnapshot;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -176,4 +177,28 @@ public class GenericUserFactory<R> implements UserFactoryPort<GenericUser<R>, R>
     public Optional<Object> getAttribute(GenericUser<R> user, String key) {
         return Optional.ofNullable(user.getAttributes().get(key));
     }
-}
\ No newline at end of file
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<GenericUser<R>> restore(UserSnapshot snapshot) {
+        try {
+            Set<R> roles = new HashSet<>();
+            snapshot.getRoles().forEach(role -> roles.add((R) role));
+            return Optional.of(GenericUser.<R>builder()
+                    .id(UserId.of(snapshot.getUserId()))
+                    .email(snapshot.getEmail() != null ? Email.of(snapshot.getEmail()) : null)
+                    .username(snapshot.getUsername())
+                    .displayName(snapshot.getDisplayName())
+                    .roles(roles)
+                    .enabled(snapshot.isEnabled())
+                    .locked(snapshot.isLocked())
+                    .accountExpired(snapshot.isAccountExpired())
+                    .credentialsExpired(snapshot.isCredentialsExpired())
+                    .attributes(new HashMap<>(snapshot.getAttributes()))
+                    .build());
+        } catch (RuntimeException e) {
+            log.debug("Cannot restore user from snapshot: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -1,72 +1,175 @@
 package com.unik.auth.adapters.persistence;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.unik.auth.domain.entities.BaseUser;
 import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.exceptions.UserAlreadyExistsException;
 import com.unik.auth.domain.valueobjects.Email;
 import com.unik.auth.domain.valueobjects.Password;
 import com.unik.auth.domain.valueobjects.UserId;
 import com.unik.auth.ports.output.UserRepositoryPort;
-import lombok.RequiredArgsConstructor;
+import com.unik.auth.ports.output.dto.CredentialView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * JPA implementation of the UserRepositoryPort using Spring Data JPA.
  * This adapter maps between the domain model (GenericUser) and the persistence model (AuthUserEntity).
+ * Read methods run in read-only transactions so they can be served by a read replica; lookups of
+ * identifiers written within the pin window, on this node or on another one that broadcast the write,
+ * or named by the client's consistency token, are kept on the primary.
  */
 @Slf4j
 @Repository
-@RequiredArgsConstructor
+@Transactional(readOnly = true)
 @SuppressWarnings("unchecked")
 public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUser<R>, R> {
 
     private final AuthUserRepository authUserRepository;
     private final AuthRoleRepository authRoleRepository;
+    private final Cache<String, Boolean> recentlyWritten;
+    private final Cache<String, Long> roleIds;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaUserRepositoryAdapter(
+            AuthUserRepository authUserRepository,
+            AuthRoleRepository authRoleRepository,
+            @Value("${persistence.read-replicas.pin-seconds:5}") long pinSeconds,
+            @Value("${persistence.role-ids.max-size:1000}") long roleIdsMaxSize,
+            @Value("${persistence.role-ids.ttl-seconds:600}") long roleIdsTtlSeconds
+    ) {
+        this.authUserRepository = authUserRepository;
+        this.authRoleRepository = authRoleRepository;
+        this.recentlyWritten = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(pinSeconds))
+                .maximumSize(100_000)
+                .build();
+        // Bounded, and expiring so a role deleted or recreated elsewhere is looked up again
+        this.roleIds = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(roleIdsTtlSeconds))
+                .maximumSize(roleIdsMaxSize)
+                .build();
+    }
 
     @Override
+    @Transactional
     public <S extends GenericUser<R>> S save(S user) {
         log.debug("Saving user: {}", user.getUsername());
         AuthUserEntity entity = toEntity(user);
         AuthUserEntity savedEntity = authUserRepository.save(entity);
+        recordWrite(user);
         return (S) toUser(savedEntity);
     }
 
+    /**
+     * Inserts the user with a single persist and flush. Uniqueness of email and username is enforced
+     * by the table's unique constraints, so concurrent signups cannot both succeed and no prior
+     * existence checks are needed.
+     */
+    @Override
+    @Transactional
+    public <S extends GenericUser<R>> S create(S user) {
+        log.debug("Creating user: {}", user.getUsername());
+        try {
+            entityManager.persist(toEntity(user));
+            entityManager.flush();
+        } catch (PersistenceException | DataIntegrityViolationException e) {
+            throw translateConstraintViolation(user, e);
+        }
+        recordWrite(user);
+        return user;
+    }
+
     @Override
+    @Transactional
     public <S extends GenericUser<R>> S update(S user) {
         log.debug("Updating user: {}", user.getUsername());
-        if (!authUserRepository.existsById(user.getId().toString())) {
+        if (!authUserRepository.existsById(user.getId().toUuid())) {
             throw new IllegalArgumentException("User not found with ID: " + user.getId());
         }
         AuthUserEntity entity = toEntity(user);
         AuthUserEntity updatedEntity = authUserRepository.save(entity);
+        recordWrite(user);
         return (S) toUser(updatedEntity);
     }
 
     @Override
     public Optional<GenericUser<R>> findById(UserId userId) {
         log.debug("Finding user by ID: {}", userId);
-        return authUserRepository.findById(userId.toString())
-                .map(this::toUser);
+        return readConsistent(idKey(userId.toString()), () -> authUserRepository.findById(userId.toUuid())
+                .map(this::toUser));
     }
 
     @Override
     public Optional<GenericUser<R>> findByEmail(Email email) {
         log.debug("Finding user by email: {}", email);
-        return authUserRepository.findByEmail(email.toString())
-                .map(this::toUser);
+        return readConsistent(emailKey(email.getValue()), () -> authUserRepository.findByEmail(email.getValue())
+                .map(this::toUser));
     }
 
     @Override
     public Optional<GenericUser<R>> findByUsername(String username) {
         log.debug("Finding user by username: {}", username);
-        return authUserRepository.findByUsername(username)
-                .map(this::toUser);
+        String normalized = AuthUserEntity.normalizeIdentifier(username);
+        return readConsistent(usernameKey(normalized), () -> authUserRepository.findByUsernameNormalized(normalized)
+                .map(this::toUser));
+    }
+
+    @Override
+    public Optional<GenericUser<R>> findByIdentifier(String identifier) {
+        log.debug("Finding user by identifier: {}", identifier);
+        String normalized = AuthUserEntity.normalizeIdentifier(identifier);
+        boolean pin = isPinned(usernameKey(normalized)) || isPinned(emailKey(normalized));
+        return readConsistent(pin, () -> {
+            List<AuthUserEntity> matches = authUserRepository.findAllByIdentifier(normalized);
+            // A username that looks like another user's email takes precedence, as with username-first lookups
+            return matches.stream()
+                    .filter(entity -> normalized.equals(entity.getUsernameNormalized()))
+                    .findFirst()
+                    .or(() -> matches.stream().findFirst())
+                    .map(this::toUser);
+        });
+    }
+
+    @Override
+    public Optional<CredentialView> findCredentialsByIdentifier(String identifier) {
+        log.debug("Finding credentials by identifier: {}", identifier);
+        String normalized = AuthUserEntity.normalizeIdentifier(identifier);
+        boolean pin = isPinned(usernameKey(normalized)) || isPinned(emailKey(normalized));
+        return readConsistent(pin, () -> {
+            List<UserCredentialProjection> matches = authUserRepository.findCredentialsByIdentifier(normalized);
+            return matches.stream()
+                    .filter(projection -> normalized.equals(projection.getUsernameNormalized()))
+                    .findFirst()
+                    .or(() -> matches.stream().findFirst())
+                    .map(projection -> new CredentialView(
+                            projection.getId().toString(),
+                            projection.getPasswordHash(),
+                            projection.isEnabled(),
+                            projection.isLocked(),
+                            projection.isAccountExpired(),
+                            projection.isCredentialsExpired()
+                    ));
+        });
     }
 
     @Override
@@ -167,31 +270,37 @@ public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUs
     @Override
     public boolean existsByEmail(Email email) {
         log.debug("Checking if user exists by email: {}", email);
-        return authUserRepository.existsByEmail(email.toString());
+        return readConsistent(emailKey(email.getValue()), () -> authUserRepository.existsByEmail(email.getValue()));
     }
 
     @Override
     public boolean existsByUsername(String username) {
         log.debug("Checking if user exists by username: {}", username);
-        return authUserRepository.existsByUsername(username);
+        String normalized = AuthUserEntity.normalizeIdentifier(username);
+        return readConsistent(usernameKey(normalized), () -> authUserRepository.existsByUsernameNormalized(normalized));
     }
 
     @Override
     public boolean existsById(UserId userId) {
         log.debug("Checking if user exists by ID: {}", userId);
-        return authUserRepository.existsById(userId.toString());
+        return readConsistent(idKey(userId.toString()), () -> authUserRepository.existsById(userId.toUuid()));
     }
 
     @Override
+    @Transactional
     public void deleteById(UserId userId) {
         log.debug("Deleting user by ID: {}", userId);
-        authUserRepository.deleteById(userId.toString());
+        authUserRepository.deleteById(userId.toUuid());
+        recentlyWritten.put(idKey(userId.toString()), Boolean.TRUE);
+        ReadConsistencyContext.recordWrite(Set.of(idKey(userId.toString())));
     }
 
     @Override
+    @Transactional
     public void delete(GenericUser<R> user) {
         log.debug("Deleting user: {}", user.getUsername());
-        authUserRepository.deleteById(user.getId().toString());
+        authUserRepository.deleteById(user.getId().toUuid());
+        recordWrite(user);
     }
 
     @Override
@@ -230,6 +339,111 @@ public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUs
         return Collections.emptyList();
     }
 
+    /**
+     * Maps a unique constraint violation on insert to the conflicting field. Other failures are rethrown as is.
+     */
+    private RuntimeException translateConstraintViolation(GenericUser<R> user, RuntimeException e) {
+        String constraint = constraintName(e);
+        if (constraint == null) {
+            return e;
+        }
+        if (constraint.contains(AuthUserEntity.UK_EMAIL)) {
+            return new UserAlreadyExistsException("User with email " + user.getEmail() + " already exists",
+                    UserAlreadyExistsException.FIELD_EMAIL, e);
+        }
+        if (constraint.contains(AuthUserEntity.UK_USERNAME)) {
+            // Also matches uk_auth_users_username_normalized
+            return new UserAlreadyExistsException("User with username " + user.getUsername() + " already exists",
+                    UserAlreadyExistsException.FIELD_USERNAME, e);
+        }
+        return e;
+    }
+
+    private static String constraintName(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                if (name == null && violation.getSQLException() != null) {
+                    name = violation.getSQLException().getMessage();
+                }
+                return name == null ? null : name.toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remembers the user's identifiers as recently written, pins the rest of the request to the primary
+     * and hands the identifiers to the request's consistency token.
+     */
+    private void recordWrite(GenericUser<R> user) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(idKey(user.getId().toString()));
+        if (user.getUsername() != null) {
+            keys.add(usernameKey(user.getUsername()));
+        }
+        if (user.getEmail() != null) {
+            keys.add(emailKey(user.getEmail()));
+        }
+        keys.forEach(key -> recentlyWritten.put(key, Boolean.TRUE));
+        ReadConsistencyContext.recordWrite(keys);
+    }
+
+    /**
+     * Pins lookups of a user written on another node to the primary for the pin window, so a cache
+     * refilled after that node's invalidation cannot pick up the pre-write row from a lagging replica.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void recordRemoteWrite(String id, String username, String email) {
+        if (id != null) {
+            recentlyWritten.put(idKey(id), Boolean.TRUE);
+        }
+        if (username != null) {
+            recentlyWritten.put(usernameKey(username), Boolean.TRUE);
+        }
+        if (email != null) {
+            recentlyWritten.put(emailKey(email), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Runs a lookup on the primary if the identifier was written within the pin window,
+     * so a replica that has not caught up yet cannot serve a stale or missing row.
+     */
+    private <T> T readConsistent(String key, Supplier<T> lookup) {
+        return readConsistent(isPinned(key), lookup);
+    }
+
+    private boolean isPinned(String key) {
+        return recentlyWritten.getIfPresent(key) != null || ReadConsistencyContext.isPinned(key);
+    }
+
+    private <T> T readConsistent(boolean pinToPrimary, Supplier<T> lookup) {
+        if (!pinToPrimary) {
+            return lookup.get();
+        }
+        ReadConsistencyContext.pin();
+        try {
+            return lookup.get();
+        } finally {
+            ReadConsistencyContext.unpin();
+        }
+    }
+
+    private static String idKey(String id) {
+        return "i:" + id;
+    }
+
+    // Writes and reads both go through these, so the pin keys match however the identifier was spelled
+
+    private static String usernameKey(String username) {
+        return "u:" + AuthUserEntity.normalizeIdentifier(username);
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + AuthUserEntity.normalizeIdentifier(email);
+    }
+
     /**
      * Maps a domain user to a persistence entity.
      */
@@ -237,9 +451,10 @@ public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUs
         Set<AuthRoleEntity> roleEntities = mapRolesToEntities(user.getRoles());
 
         return AuthUserEntity.builder()
-                .id(user.getId().toString())
+                .id(user.getId().toUuid())
                 .email(user.getEmail())
                 .username(user.getUsername())
+                .usernameNormalized(AuthUserEntity.normalizeIdentifier(user.getUsername()))
                 .passwordHash(user.getPassword())
                 .roles(roleEntities)
                 .enabled(user.isEnabled())
@@ -258,7 +473,7 @@ public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUs
         Set<R> roles = mapEntityRolesToDomain(entity.getRoles());
 
         GenericUser<R> user = GenericUser.<R>builder()
-                .id(UserId.of(entity.getId()))
+                .id(UserId.fromUuid(entity.getId()))
                 .email(Email.of(entity.getEmail()))
                 .username(entity.getUsername())
                 .password(Password.fromEncoded(entity.getPasswordHash()))
@@ -290,8 +505,12 @@ public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUs
         return roles.stream()
                 .map(role -> {
                     String roleName = role.toString();
-                    // Find or create the role entity
-                    return authRoleRepository.findByName(roleName)
+                    // Known roles are referenced by id without a lookup; unknown ones are found or created once
+                    Long roleId = roleIds.getIfPresent(roleName);
+                    if (roleId != null) {
+                        return entityManager.getReference(AuthRoleEntity.class, roleId);
+                    }
+                    AuthRoleEntity roleEntity = authRoleRepository.findByName(roleName)
                             .orElseGet(() -> {
                                 log.debug("Creating new role: {}", roleName);
                                 AuthRoleEntity newRole = AuthRoleEntity.builder()
@@ -300,6 +519,8 @@ public class JpaUserRepositoryAdapter<R> implements UserRepositoryPort<GenericUs
                                         .build();
                                 return authRoleRepository.save(newRole);
                             });
+                    roleIds.put(roleName, roleEntity.getId());
+                    return roleEntity;
                 })
                 .collect(Collectors.toSet());
     }
@@ -0,0 +1,74 @@
+package com.unik.auth.adapters.persistence;
+
+import com.unik.auth.adapters.email.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pending or processed notification, written in the same transaction as the user change that
+ * triggered it and delivered later by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_notification_outbox_processed", columnList = "status, processed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationOutboxEntity {
+
+    public enum Status {
+        PENDING, DELIVERED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // VARCHAR rather than a native ENUM, so adding a type needs no ALTER TABLE
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 32)
+    private NotificationType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "user_id", nullable = false, columnDefinition = "BINARY(16)", length = 16)
+    private UUID userId;
+
+    /**
+     * Notification arguments beyond the user, joined with the unit separator character.
+     * Encrypted for types with secret arguments, and cleared for those once the row is processed.
+     */
+    @Column(length = 2048)
+    private String payload;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1024)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime deliveredAt;
+
+    /**
+     * When the row was delivered or given up on; the purge retention counts from here.
+     */
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
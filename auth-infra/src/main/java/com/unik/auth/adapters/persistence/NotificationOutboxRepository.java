@@ -0,0 +1,41 @@
+package com.unik.auth.adapters.persistence;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutboxEntity, Long> {
+
+    /**
+     * Locks the oldest due pending rows, skipping rows already locked by another dispatcher
+     * (a lock timeout of -2 is rendered as SKIP LOCKED). Must be called inside a transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select o from NotificationOutboxEntity o where o.status = :status and o.nextAttemptAt <= :now order by o.id")
+    List<NotificationOutboxEntity> lockDue(@Param("status") NotificationOutboxEntity.Status status,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+
+    /**
+     * Deletes rows in the given final status that were processed before the cutoff.
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from NotificationOutboxEntity o where o.status = :status and o.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("status") NotificationOutboxEntity.Status status,
+                              @Param("cutoff") LocalDateTime cutoff);
+}
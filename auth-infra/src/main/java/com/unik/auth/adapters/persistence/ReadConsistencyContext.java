@@ -0,0 +1,128 @@
+package com.unik.auth.adapters.persistence;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Per-request read consistency state used to route reads between the primary and the replicas.
+ * Reads are pinned to the primary for the rest of a request once it has written, for lookups of the
+ * user named by a consistency token the client presented, or explicitly around a single lookup.
+ * A write hands the written user's lookup keys to the sink registered for the current request.
+ * <p>
+ * The request scope lives on the thread that began it; tasks submitted through {@link #propagating}
+ * executors carry it to their own thread and drop it when they finish.
+ * </p>
+ */
+public final class ReadConsistencyContext {
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private ReadConsistencyContext() {
+    }
+
+    /**
+     * Starts a request scope.
+     * @param pinnedKeys lookup keys of the user named by a valid client token, whose reads go to the primary
+     * @param writeSink receives the written user's lookup keys when the request writes
+     */
+    public static void begin(Set<String> pinnedKeys, Consumer<Set<String>> writeSink) {
+        State state = new State();
+        state.scope = new Scope(pinnedKeys, writeSink);
+        STATE.set(state);
+    }
+
+    /**
+     * Ends the request scope started by {@link #begin}. Tasks still holding it can no longer write to its sink.
+     */
+    public static void clear() {
+        Scope scope = STATE.get().scope;
+        if (scope != null) {
+            scope.closed = true;
+        }
+        STATE.remove();
+    }
+
+    /**
+     * Records a write on the primary: pins the rest of the request and passes the user's keys to the sink.
+     * Outside a request scope only the explicit pins apply.
+     * @param keys the lookup keys of the written user
+     */
+    public static void recordWrite(Set<String> keys) {
+        Scope scope = STATE.get().scope;
+        if (scope == null || scope.closed) {
+            return;
+        }
+        scope.written = true;
+        if (scope.writeSink != null) {
+            scope.writeSink.accept(keys);
+        }
+    }
+
+    /**
+     * Pins reads to the primary until the matching {@link #unpin()}. Calls may nest.
+     */
+    public static void pin() {
+        STATE.get().pinDepth++;
+    }
+
+    public static void unpin() {
+        State state = STATE.get();
+        if (state.pinDepth > 0) {
+            state.pinDepth--;
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        State state = STATE.get();
+        return state.pinDepth > 0 || (state.scope != null && state.scope.written);
+    }
+
+    /**
+     * Returns true if the client presented a valid consistency token for the user with this lookup key.
+     * @param key the lookup key
+     */
+    public static boolean isPinned(String key) {
+        Scope scope = STATE.get().scope;
+        return scope != null && scope.pinnedKeys.contains(key);
+    }
+
+    /**
+     * Wraps an executor so each task runs in the request scope of the thread that submitted it.
+     * Continuations that complete inside the task, such as dependent future stages, see the same scope.
+     * @param executor the executor running the tasks
+     * @return the wrapping executor
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> {
+            Scope scope = STATE.get().scope;
+            executor.execute(() -> {
+                State state = new State();
+                state.scope = scope;
+                STATE.set(state);
+                try {
+                    task.run();
+                } finally {
+                    STATE.remove();
+                }
+            });
+        };
+    }
+
+    private static final class State {
+        private Scope scope;
+        private int pinDepth;
+    }
+
+    private static final class Scope {
+        private final Set<String> pinnedKeys;
+        private final Consumer<Set<String>> writeSink;
+        private volatile boolean written;
+        private volatile boolean closed;
+
+        private Scope(Set<String> pinnedKeys, Consumer<Set<String>> writeSink) {
+            this.pinnedKeys = pinnedKeys != null ? Set.copyOf(pinnedKeys) : Set.of();
+            this.writeSink = writeSink;
+        }
+    }
+}
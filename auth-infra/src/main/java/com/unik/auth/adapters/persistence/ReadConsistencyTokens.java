@@ -0,0 +1,92 @@
+package com.unik.auth.adapters.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Issues and verifies read-your-writes consistency tokens. A token carries the lookup keys of the user
+ * a request wrote, i.e. its ID, username and email, and the time of the write, signed with HMAC-SHA256
+ * under {@code persistence.read-replicas.token-secret}, which defaults to the JWT secret. A valid token
+ * within the pin window keeps lookups of that user, and only that user, on the primary.
+ */
+@Component
+public class ReadConsistencyTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "\u001F";
+
+    private final SecretKeySpec key;
+    private final long windowMillis;
+
+    public ReadConsistencyTokens(
+            @Value("${persistence.read-replicas.token-secret:${security.jwt.secret}}") String secret,
+            @Value("${persistence.read-replicas.pin-seconds:5}") long pinSeconds
+    ) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.windowMillis = pinSeconds * 1000;
+    }
+
+    /**
+     * Issues a token for a write of the user with the given lookup keys.
+     */
+    public String issue(Set<String> keys) {
+        String payload = System.currentTimeMillis() + FIELD_SEPARATOR + String.join(FIELD_SEPARATOR, keys);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * Returns the lookup keys carried by the token, or an empty set if it is missing, malformed,
+     * not signed by this service or older than the pin window.
+     */
+    public Set<String> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Set.of();
+        }
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return Set.of();
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            String payload = new String(decoder.decode(token.substring(0, dot).trim()), StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(sign(payload), decoder.decode(token.substring(dot + 1).trim()))) {
+                return Set.of();
+            }
+            String[] fields = payload.split(FIELD_SEPARATOR, -1);
+            long age = System.currentTimeMillis() - Long.parseLong(fields[0]);
+            if (age < 0 || age >= windowMillis) {
+                return Set.of();
+            }
+            Set<String> keys = new LinkedHashSet<>();
+            for (int i = 1; i < fields.length; i++) {
+                if (!fields[i].isEmpty()) {
+                    keys.add(fields[i]);
+                }
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            // Bad base64 or timestamp
+            return Set.of();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
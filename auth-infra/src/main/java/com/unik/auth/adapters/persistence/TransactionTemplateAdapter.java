@@ -0,0 +1,26 @@
+package com.unik.auth.adapters.persistence;
+
+import com.unik.auth.ports.output.TransactionPort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * TransactionPort implementation backed by Spring's TransactionTemplate.
+ */
+@Component
+public class TransactionTemplateAdapter implements TransactionPort {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionTemplateAdapter(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
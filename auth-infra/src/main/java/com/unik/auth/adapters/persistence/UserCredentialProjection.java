@@ -0,0 +1,22 @@
+package com.unik.auth.adapters.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Constructor-expression projection of the login columns of {@code auth_users}.
+ * Selected from the covering login indexes without touching the row or the roles.
+ */
+@Getter
+@AllArgsConstructor
+public class UserCredentialProjection {
+    private final UUID id;
+    private final String usernameNormalized;
+    private final String passwordHash;
+    private final boolean enabled;
+    private final boolean locked;
+    private final boolean accountExpired;
+    private final boolean credentialsExpired;
+}
@@ -0,0 +1,10 @@
+package com.unik.auth.adapters.persistence;
+
+/**
+ * Projection of the login identifiers of a user, used for bulk scans.
+ */
+public interface UserIdentifierView {
+    String getUsername();
+
+    String getEmail();
+}
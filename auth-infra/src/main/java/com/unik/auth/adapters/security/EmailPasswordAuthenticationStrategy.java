@@ -0,0 +1,109 @@
+package com.unik.auth.adapters.security;
+
+import com.unik.auth.application.services.EmailPasswordCredentials;
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.ports.output.AuthenticationStrategyPort;
+import com.unik.auth.ports.output.PasswordServicePort;
+import com.unik.auth.ports.output.UserRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Implementation of the AuthenticationStrategyPort for email/password authentication.
+ * This strategy authenticates users based on their email address and password.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailPasswordAuthenticationStrategy<R> implements AuthenticationStrategyPort<GenericUser<R>, R, EmailPasswordCredentials> {
+
+    private final UserRepositoryPort<GenericUser<R>, R> userRepository;
+    private final PasswordServicePort passwordService;
+
+    @Override
+    public Optional<GenericUser<R>> authenticate(EmailPasswordCredentials credentials) {
+        log.debug("Authenticating user with email: {}", credentials.getEmail());
+
+        // Prepare credentials
+        credentials = prepareCredentials(credentials);
+
+        // Validate credentials format
+        if (!validateCredentialsFormat(credentials)) {
+            log.warn("Invalid credentials format for email: {}", credentials.getEmail());
+            return Optional.empty();
+        }
+
+        if (!Email.isValid(credentials.getEmail())) {
+            log.debug("Invalid email format: {}", credentials.getEmail());
+            return Optional.empty();
+        }
+        Email email = Email.of(credentials.getEmail());
+
+        Optional<GenericUser<R>> userOpt = userRepository.findByEmail(email);
+
+        if (userOpt.isEmpty()) {
+            log.debug("User not found with email: {}", credentials.getEmail());
+            return Optional.empty();
+        }
+
+        GenericUser<R> user = userOpt.get();
+
+        // Verify password
+        if (passwordService.matches(credentials.getPassword(), user.getPassword())) {
+            log.debug("Password does not match for user: {}", user.getUsername());
+            return Optional.empty();
+        }
+
+        log.info("User authenticated successfully: {}", user.getUsername());
+        return Optional.of(user);
+    }
+
+    @Override
+    public boolean supports(Class<? extends EmailPasswordCredentials> credentialsType) {
+        return EmailPasswordCredentials.class.isAssignableFrom(credentialsType);
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "email-password";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean validateCredentialsFormat(EmailPasswordCredentials credentials) {
+        if (credentials == null) {
+            return false;
+        }
+
+        if (credentials.getEmail() == null || credentials.getEmail().trim().isEmpty()) {
+            return false;
+        }
+
+        if (credentials.getPassword() == null || credentials.getPassword().trim().isEmpty()) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public EmailPasswordCredentials prepareCredentials(EmailPasswordCredentials credentials) {
+        if (credentials == null) {
+            return null;
+        }
+
+        // Trim email, keep password as provided
+        String email = credentials.getEmail() != null ?
+                credentials.getEmail().trim() : null;
+
+        return new EmailPasswordCredentials(email, credentials.getPassword());
+    }
+}
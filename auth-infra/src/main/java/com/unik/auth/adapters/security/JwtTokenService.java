@@ -1,12 +1,18 @@
 package com.unik.auth.adapters.security;
 
 import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.SessionRevocationPort;
+import com.unik.auth.ports.output.TokenEpochPort;
 import com.unik.auth.ports.output.TokenServicePort;
+import com.unik.auth.ports.output.dto.AccessTokenClaims;
+import com.unik.auth.ports.output.dto.UserSnapshot;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
@@ -19,19 +25,30 @@ import java.util.function.Function;
 
 /**
  * A generic implementation of the TokenServicePort that uses JWT tokens.
- * This implementation is stateless, meaning tokens are validated purely based on their cryptographic signature
- * and claims, without dependency on a persistent store.
+ * Tokens are validated based on their cryptographic signature and claims, plus the user's token epoch
+ * via the {@link TokenEpochPort}, so all of a user's tokens can be revoked at once. Startup fails if no epoch
+ * source exists, unless {@code security.token-epoch.enabled} is explicitly false.
+ * Access tokens issued for a session carry its ID ({@code sid}) and are rejected once the session is
+ * revoked through the {@link SessionRevocationPort}.
+ * Active unless {@code security.token.mode} selects another token format.
  *
  * @param <U> The user entity type extending BaseUser
  * @param <R> The role type used by the user entity
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "security.token.mode", havingValue = "jwt", matchIfMissing = true)
 public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePort<U, R> {
     private final SecretKey secretKey;
+    private final JwtParser parser;
     private final long accessTokenValidity;
     private final long refreshTokenValidity;
     private final String tokenType;
+    private final boolean userSnapshotEnabled;
+    private final int userSnapshotVersion;
+    private final Set<String> userSnapshotAttributes;
+    private final TokenEpochPort tokenEpochs;
+    private final SessionRevocationPort sessionRevocations;
 
     // JWT standard claim names
     public static final String SUBJECT = "sub";
@@ -45,17 +62,52 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
     public static final String ACCESS_TOKEN_TYPE = "access";
     public static final String REFRESH_TOKEN_TYPE = "refresh";
     public static final String USER_ID_CLAIM = "userId";
+    public static final String USER_SNAPSHOT_CLAIM = "usr";
+    public static final String EPOCH_CLAIM = "ep";
+    public static final String SESSION_ID_CLAIM = "sid";
+
+    // User snapshot fields
+    private static final String SNAPSHOT_VERSION = "v";
+    private static final String SNAPSHOT_EMAIL = "email";
+    private static final String SNAPSHOT_DISPLAY_NAME = "name";
+    private static final String SNAPSHOT_ENABLED = "en";
+    private static final String SNAPSHOT_LOCKED = "lk";
+    private static final String SNAPSHOT_ACCOUNT_EXPIRED = "ae";
+    private static final String SNAPSHOT_CREDENTIALS_EXPIRED = "ce";
+    private static final String SNAPSHOT_ATTRIBUTES = "attrs";
 
     public JwtTokenService(
             @Value("${security.jwt.secret}") String secret,
             @Value("${security.jwt.access-token-validity-seconds}") long accessTokenValidity,
             @Value("${security.jwt.refresh-token-validity-seconds}") long refreshTokenValidity,
-            @Value("${security.jwt.token-type:Bearer}") String tokenType
+            @Value("${security.jwt.token-type:Bearer}") String tokenType,
+            @Value("${security.jwt.user-snapshot.enabled:false}") boolean userSnapshotEnabled,
+            @Value("${security.jwt.user-snapshot.version:1}") int userSnapshotVersion,
+            @Value("${security.jwt.user-snapshot.attributes:}") String[] userSnapshotAttributes,
+            ObjectProvider<TokenEpochPort> tokenEpochs,
+            @Value("${security.token-epoch.enabled:true}") boolean tokenEpochsEnabled,
+            SessionRevocationPort sessionRevocations
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
         this.accessTokenValidity = accessTokenValidity;
         this.refreshTokenValidity = refreshTokenValidity;
         this.tokenType = tokenType;
+        this.userSnapshotEnabled = userSnapshotEnabled;
+        this.userSnapshotVersion = userSnapshotVersion;
+        this.userSnapshotAttributes = new HashSet<>();
+        for (String attribute : userSnapshotAttributes) {
+            if (attribute != null && !attribute.isBlank()) {
+                this.userSnapshotAttributes.add(attribute.trim());
+            }
+        }
+        this.tokenEpochs = tokenEpochsEnabled ? tokenEpochs.getIfAvailable() : null;
+        if (tokenEpochsEnabled && this.tokenEpochs == null) {
+            // Without epochs, tokens revoked by a password change, lock or revoke-all would still be accepted
+            throw new IllegalStateException("No TokenEpochPort bean is available; provide one or set "
+                    + "security.token-epoch.enabled=false to accept tokens without revocation checks");
+        }
+        this.sessionRevocations = sessionRevocations;
     }
 
     @Override
@@ -85,6 +137,18 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
         return buildToken(user, claims, now, expirationTime);
     }
 
+    /**
+     * Stamps the refresh token's ID into the access token as its session, see {@link #revokeSession}.
+     */
+    @Override
+    public String generateSessionAccessToken(U user, String refreshToken) {
+        String sessionId = extractAllClaims(refreshToken).getId();
+        if (sessionId == null) {
+            return generateAccessToken(user);
+        }
+        return generateAccessToken(user, Map.of(SESSION_ID_CLAIM, sessionId));
+    }
+
     @Override
     public String generateRefreshToken(U user) {
         Instant now = Instant.now();
@@ -136,12 +200,56 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
             builder.claim(ROLES_CLAIM, user.getRoles());
         }
 
+        // Each refresh token gets its own ID, which identifies its session
+        if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            builder.id(UUID.randomUUID().toString());
+        }
+
+        if (tokenEpochs != null && !claims.containsKey(EPOCH_CLAIM)) {
+            builder.claim(EPOCH_CLAIM, tokenEpochs.currentEpoch(user.getId().toString()));
+        }
+
+        if (userSnapshotEnabled && ACCESS_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))
+                && !claims.containsKey(USER_SNAPSHOT_CLAIM)) {
+            builder.claim(USER_SNAPSHOT_CLAIM, snapshotClaim(user));
+        }
+
         // Add all provided claims
         claims.forEach(builder::claim);
 
         return builder.signWith(secretKey).compact();
     }
 
+    /**
+     * Builds the user snapshot claim: status flags, display name and the configured attributes.
+     * Username and roles are already top-level claims and are not repeated.
+     */
+    private Map<String, Object> snapshotClaim(U user) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put(SNAPSHOT_VERSION, userSnapshotVersion);
+        snapshot.put(SNAPSHOT_EMAIL, user.getEmail());
+        snapshot.put(SNAPSHOT_DISPLAY_NAME, user.getDisplayName());
+        snapshot.put(SNAPSHOT_ENABLED, user.isEnabled());
+        snapshot.put(SNAPSHOT_LOCKED, user.isLocked());
+        snapshot.put(SNAPSHOT_ACCOUNT_EXPIRED, user.isAccountExpired());
+        snapshot.put(SNAPSHOT_CREDENTIALS_EXPIRED, user.isCredentialsExpired());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        if (user.getAttributes() != null) {
+            userSnapshotAttributes.forEach(key -> {
+                Object value = user.getAttributes().get(key);
+                if (value != null) {
+                    attributes.put(key, value);
+                }
+            });
+        }
+        snapshot.put(SNAPSHOT_ATTRIBUTES, attributes);
+        return snapshot;
+    }
+
+    /**
+     * Builds the access token from the refresh token's claims alone, so it carries its session but no user snapshot.
+     * The authentication services load the user and call {@link #generateSessionAccessToken} instead.
+     */
     @Override
     public Optional<String> refreshAccessToken(String refreshToken) {
         try {
@@ -167,6 +275,10 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
             // Transfer relevant claims from refresh token to the new access token
             transferClaimIfPresent(claims, newClaims, USERNAME_CLAIM);
             transferClaimIfPresent(claims, newClaims, ROLES_CLAIM);
+            transferClaimIfPresent(claims, newClaims, EPOCH_CLAIM);
+            if (claims.getId() != null) {
+                newClaims.put(SESSION_ID_CLAIM, claims.getId());
+            }
 
             // Generate a new access token with the same subject and transferred claims
             Instant now = Instant.now();
@@ -201,10 +313,7 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
     @Override
     public boolean isTokenSignatureValid(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseClaimsJws(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (SignatureException e) {
             log.debug("Invalid JWT signature: {}", e.getMessage());
@@ -226,11 +335,8 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
      */
     public boolean isTokenValidAndNotExpired(String token) {
         try {
-            Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token);
-            return true;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return isEpochCurrent(claims) && isSessionActive(claims);
         } catch (ExpiredJwtException e) {
             log.debug("JWT token is expired: {}", e.getMessage());
             return false;
@@ -249,6 +355,144 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
         }
     }
 
+    @Override
+    public Optional<AccessTokenClaims> verifyAccessToken(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (!ACCESS_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) || !isEpochCurrent(claims)
+                    || !isSessionActive(claims)) {
+                return Optional.empty();
+            }
+            Set<String> roles = new HashSet<>();
+            if (claims.get(ROLES_CLAIM) instanceof Collection<?> roleClaims) {
+                roleClaims.forEach(role -> roles.add(String.valueOf(role)));
+            }
+            return Optional.of(new AccessTokenClaims(
+                    claims.getSubject(),
+                    claims.get(USERNAME_CLAIM, String.class),
+                    roles,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null
+            ));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected access token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<UserSnapshot> extractUserSnapshot(String token) {
+        if (!userSnapshotEnabled) {
+            return Optional.empty();
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (!ACCESS_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class))
+                    || !(claims.get(USER_SNAPSHOT_CLAIM) instanceof Map<?, ?> snapshot)
+                    || !(snapshot.get(SNAPSHOT_VERSION) instanceof Number version)
+                    || version.intValue() != userSnapshotVersion
+                    || !isEpochCurrent(claims)
+                    || !isSessionActive(claims)) {
+                return Optional.empty();
+            }
+            Set<String> roles = new HashSet<>();
+            if (claims.get(ROLES_CLAIM) instanceof Collection<?> roleClaims) {
+                roleClaims.forEach(role -> roles.add(String.valueOf(role)));
+            }
+            Map<String, Object> attributes = new HashMap<>();
+            if (snapshot.get(SNAPSHOT_ATTRIBUTES) instanceof Map<?, ?> attributeClaims) {
+                attributeClaims.forEach((key, value) -> attributes.put(String.valueOf(key), value));
+            }
+            return Optional.of(new UserSnapshot(
+                    claims.getSubject(),
+                    claims.get(USERNAME_CLAIM, String.class),
+                    (String) snapshot.get(SNAPSHOT_EMAIL),
+                    (String) snapshot.get(SNAPSHOT_DISPLAY_NAME),
+                    roles,
+                    Boolean.TRUE.equals(snapshot.get(SNAPSHOT_ENABLED)),
+                    Boolean.TRUE.equals(snapshot.get(SNAPSHOT_LOCKED)),
+                    Boolean.TRUE.equals(snapshot.get(SNAPSHOT_ACCOUNT_EXPIRED)),
+                    Boolean.TRUE.equals(snapshot.get(SNAPSHOT_CREDENTIALS_EXPIRED)),
+                    attributes,
+                    version.intValue()
+            ));
+        } catch (JwtException | IllegalArgumentException | ClassCastException e) {
+            log.debug("Rejected user snapshot: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * JWTs are stateless: a single token is revoked through its session, all of a user's through the epoch.
+     * Revoking a refresh token therefore revokes its session; other tokens are left to expire.
+     */
+    @Override
+    public void revokeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        try {
+            Claims claims = extractAllClaims(token);
+            if (REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM, String.class)) && claims.getId() != null) {
+                revokeSession(claims.getId());
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Ignoring revocation of an invalid token: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * A revoked session's refresh token is rejected by the session registry; its access tokens carry the
+     * session ID and are rejected through the revocation list.
+     */
+    @Override
+    public void revokeSession(String sessionId) {
+        sessionRevocations.revoke(sessionId);
+    }
+
+    /**
+     * Returns true unless the user's tokens were revoked after this one was issued; always true only when
+     * epochs were explicitly disabled.
+     * Tokens without an epoch claim count as epoch 0. Fails closed if the epoch cannot be read.
+     */
+    private boolean isEpochCurrent(Claims claims) {
+        if (tokenEpochs == null) {
+            return true;
+        }
+        long epoch = claims.get(EPOCH_CLAIM) instanceof Number number ? number.longValue() : 0L;
+        try {
+            if (epoch < tokenEpochs.currentEpoch(claims.getSubject())) {
+                log.debug("Rejected revoked token for user: {}", claims.getSubject());
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not read token epoch for user: {}", claims.getSubject(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns true unless the token was issued to a session that has since been revoked.
+     * Tokens without a session claim are not tied to one. Fails closed if the revocation list cannot be read.
+     */
+    private boolean isSessionActive(Claims claims) {
+        String sessionId = claims.get(SESSION_ID_CLAIM, String.class);
+        if (sessionId == null) {
+            return true;
+        }
+        try {
+            if (sessionRevocations.isRevoked(sessionId)) {
+                log.debug("Rejected token of revoked session {} for user: {}", sessionId, claims.getSubject());
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not read session revocation for user: {}", claims.getSubject(), e);
+            return false;
+        }
+    }
+
     /**
      * Extract a specific claim from a token using the provided function
      */
@@ -262,7 +506,7 @@ public class JwtTokenService<U extends BaseUser<R>, R> implements TokenServicePo
      */
     public Claims extractAllClaims(String token) {
         try {
-            return Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             // For expired tokens, we still want to extract the claims
             return e.getClaims();
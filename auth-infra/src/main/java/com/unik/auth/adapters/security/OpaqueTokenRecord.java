@@ -0,0 +1,85 @@
+package com.unik.auth.adapters.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Server-side record behind an opaque token, stored as one compact delimited line.
+ * Refresh tokens carry a random ID that identifies their session; access tokens issued for a session
+ * carry the same ID, others have none.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class OpaqueTokenRecord {
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char ROLE_SEPARATOR = '\u001E';
+    private static final int FIELD_COUNT = 8;
+
+    private final String type;
+    private final String id;
+    private final String userId;
+    private final String username;
+    private final Set<String> roles;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+    private final long epoch;
+
+    public boolean isExpired() {
+        return !Instant.now().isBefore(expiresAt);
+    }
+
+    public String encode() {
+        StringBuilder roleField = new StringBuilder();
+        for (String role : roles) {
+            if (!roleField.isEmpty()) {
+                roleField.append(ROLE_SEPARATOR);
+            }
+            roleField.append(role);
+        }
+        return type + FIELD_SEPARATOR + nullToEmpty(id) + FIELD_SEPARATOR + userId + FIELD_SEPARATOR
+                + nullToEmpty(username) + FIELD_SEPARATOR + roleField + FIELD_SEPARATOR
+                + issuedAt.toEpochMilli() + FIELD_SEPARATOR + expiresAt.toEpochMilli() + FIELD_SEPARATOR + epoch;
+    }
+
+    /**
+     * Parses an encoded record.
+     * @throws IllegalArgumentException if the value is not an encoded record
+     */
+    public static OpaqueTokenRecord decode(String value) {
+        String[] fields = value.split(String.valueOf(FIELD_SEPARATOR), -1);
+        if (fields.length != FIELD_COUNT) {
+            throw new IllegalArgumentException("Malformed opaque token record");
+        }
+        Set<String> roles = new LinkedHashSet<>();
+        if (!fields[4].isEmpty()) {
+            for (String role : fields[4].split(String.valueOf(ROLE_SEPARATOR))) {
+                roles.add(role);
+            }
+        }
+        return new OpaqueTokenRecord(
+                fields[0],
+                emptyToNull(fields[1]),
+                fields[2],
+                emptyToNull(fields[3]),
+                roles,
+                Instant.ofEpochMilli(Long.parseLong(fields[5])),
+                Instant.ofEpochMilli(Long.parseLong(fields[6])),
+                Long.parseLong(fields[7])
+        );
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,349 @@
+package com.unik.auth.adapters.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.unik.auth.domain.entities.BaseUser;
+import com.unik.auth.ports.output.TokenEpochPort;
+import com.unik.auth.ports.output.TokenServicePort;
+import com.unik.auth.ports.output.dto.AccessTokenClaims;
+import com.unik.auth.ports.output.dto.UserSnapshot;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+import static com.unik.auth.adapters.security.JwtTokenService.*;
+
+/**
+ * TokenServicePort implementation issuing opaque tokens: 256-bit random references that reveal nothing
+ * to the client. Each reference maps to an {@link OpaqueTokenRecord} in the configured {@link OpaqueTokenStore},
+ * keyed by the reference's SHA-256 digest so the store never holds usable tokens.
+ * Deleting a record revokes the token. The store also keeps, per session, the keys of the refresh token and
+ * the access tokens issued for it, so revoking the refresh token or the session deletes them all.
+ * Hot records are kept in a short-lived local cache, whose TTL bounds how long another node may still
+ * accept a revoked token. Custom claims are not stored, and tokens carry no user snapshot.
+ * Active when {@code security.token.mode} is {@code opaque}.
+ *
+ * @param <U> The user entity type extending BaseUser
+ * @param <R> The role type used by the user entity
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "security.token.mode", havingValue = "opaque")
+public class OpaqueTokenService<U extends BaseUser<R>, R> implements TokenServicePort<U, R> {
+
+    private static final int REFERENCE_BYTES = 32;
+    private static final String SESSION_KEY_PREFIX = "session:";
+
+    private final OpaqueTokenStore store;
+    private final TokenEpochPort tokenEpochs;
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long accessTokenValidity;
+    private final long refreshTokenValidity;
+    private final String tokenType;
+    private final Cache<String, OpaqueTokenRecord> localRecords;
+
+    public OpaqueTokenService(
+            OpaqueTokenStore store,
+            ObjectProvider<TokenEpochPort> tokenEpochs,
+            @Value("${security.token-epoch.enabled:true}") boolean tokenEpochsEnabled,
+            @Value("${security.jwt.access-token-validity-seconds}") long accessTokenValidity,
+            @Value("${security.jwt.refresh-token-validity-seconds}") long refreshTokenValidity,
+            @Value("${security.jwt.token-type:Bearer}") String tokenType,
+            @Value("${security.token.opaque.l1.max-size:10000}") long localMaxSize,
+            @Value("${security.token.opaque.l1.ttl-seconds:5}") long localTtlSeconds
+    ) {
+        this.store = store;
+        this.tokenEpochs = tokenEpochsEnabled ? tokenEpochs.getIfAvailable() : null;
+        if (tokenEpochsEnabled && this.tokenEpochs == null) {
+            throw new IllegalStateException("No TokenEpochPort bean is available; provide one or set "
+                    + "security.token-epoch.enabled=false to accept tokens without revocation checks");
+        }
+        this.accessTokenValidity = accessTokenValidity;
+        this.refreshTokenValidity = refreshTokenValidity;
+        this.tokenType = tokenType;
+        this.localRecords = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                .build();
+    }
+
+    @Override
+    public String generateAccessToken(U user) {
+        return issue(user, ACCESS_TOKEN_TYPE, Duration.ofSeconds(accessTokenValidity));
+    }
+
+    @Override
+    public String generateAccessToken(U user, Duration expiration) {
+        return issue(user, ACCESS_TOKEN_TYPE, expiration);
+    }
+
+    @Override
+    public String generateAccessToken(U user, Map<String, Object> customClaims) {
+        return generateAccessToken(user);
+    }
+
+    /**
+     * Issues an access token linked to the refresh token's session; an unknown refresh token yields an unlinked one.
+     */
+    @Override
+    public String generateSessionAccessToken(U user, String refreshToken) {
+        OpaqueTokenRecord session = load(refreshToken);
+        if (session == null || !REFRESH_TOKEN_TYPE.equals(session.getType()) || session.getId() == null) {
+            return generateAccessToken(user);
+        }
+        Instant now = Instant.now();
+        return save(record(user, ACCESS_TOKEN_TYPE, session.getId(), now, now.plusSeconds(accessTokenValidity)),
+                session.getExpiresAt());
+    }
+
+    @Override
+    public String generateRefreshToken(U user) {
+        return issue(user, REFRESH_TOKEN_TYPE, Duration.ofSeconds(refreshTokenValidity));
+    }
+
+    @Override
+    public String generateRefreshToken(U user, Duration expiration) {
+        return issue(user, REFRESH_TOKEN_TYPE, expiration);
+    }
+
+    @Override
+    public boolean isTokenValid(String token) {
+        return isTokenValidAndNotExpired(token);
+    }
+
+    @Override
+    public boolean isTokenValidAndNotExpired(String token) {
+        return findActive(token).isPresent();
+    }
+
+    @Override
+    public Optional<String> extractUsername(String token) {
+        return Optional.ofNullable(load(token)).map(OpaqueTokenRecord::getUsername);
+    }
+
+    @Override
+    public Optional<String> extractUserId(String token) {
+        return Optional.ofNullable(load(token)).map(OpaqueTokenRecord::getUserId);
+    }
+
+    /**
+     * Presents the record as claims, including for expired tokens still held; unknown tokens yield no claims.
+     */
+    @Override
+    public Claims extractAllClaims(String token) {
+        OpaqueTokenRecord record = load(token);
+        if (record == null) {
+            return Jwts.claims().build();
+        }
+        return Jwts.claims()
+                .subject(record.getUserId())
+                .id(record.getId())
+                .issuedAt(Date.from(record.getIssuedAt()))
+                .expiration(Date.from(record.getExpiresAt()))
+                .add(TOKEN_TYPE_CLAIM, record.getType())
+                .add(USERNAME_CLAIM, record.getUsername())
+                .add(ROLES_CLAIM, record.getRoles())
+                .add(EPOCH_CLAIM, record.getEpoch())
+                .build();
+    }
+
+    @Override
+    public Optional<Object> extractClaim(String token, String claimName) {
+        return Optional.ofNullable(extractAllClaims(token).get(claimName));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Set<R>> extractRoles(String token) {
+        return Optional.ofNullable(load(token)).map(record -> (Set<R>) new HashSet<>(record.getRoles()));
+    }
+
+    @Override
+    public Optional<LocalDateTime> getTokenExpirationTime(String token) {
+        return Optional.ofNullable(load(token))
+                .map(record -> LocalDateTime.ofInstant(record.getExpiresAt(), ZoneId.systemDefault()));
+    }
+
+    @Override
+    public Optional<LocalDateTime> getTokenIssueTime(String token) {
+        return Optional.ofNullable(load(token))
+                .map(record -> LocalDateTime.ofInstant(record.getIssuedAt(), ZoneId.systemDefault()));
+    }
+
+    @Override
+    public Optional<String> refreshAccessToken(String refreshToken) {
+        try {
+            return findActive(refreshToken)
+                    .filter(record -> REFRESH_TOKEN_TYPE.equals(record.getType()))
+                    .map(record -> {
+                        Instant now = Instant.now();
+                        return save(new OpaqueTokenRecord(ACCESS_TOKEN_TYPE, record.getId(), record.getUserId(), record.getUsername(),
+                                record.getRoles(), now, now.plusSeconds(accessTokenValidity), record.getEpoch()),
+                                record.getExpiresAt());
+                    });
+        } catch (Exception e) {
+            log.error("Failed to refresh access token", e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    /**
+     * Opaque tokens have no signature; a token is structurally valid if its record exists.
+     */
+    @Override
+    public boolean isTokenSignatureValid(String token) {
+        return load(token) != null;
+    }
+
+    @Override
+    public Optional<AccessTokenClaims> verifyAccessToken(String token) {
+        return findActive(token)
+                .filter(record -> ACCESS_TOKEN_TYPE.equals(record.getType()))
+                .map(record -> new AccessTokenClaims(record.getUserId(), record.getUsername(),
+                        new HashSet<>(record.getRoles()), record.getIssuedAt(), record.getExpiresAt()));
+    }
+
+    @Override
+    public Optional<UserSnapshot> extractUserSnapshot(String token) {
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes the token's record; revoking a refresh token also revokes the tokens of its session.
+     */
+    @Override
+    public void revokeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        OpaqueTokenRecord record = load(token);
+        String key = digest(token);
+        store.delete(key);
+        localRecords.invalidate(key);
+        if (record != null && REFRESH_TOKEN_TYPE.equals(record.getType()) && record.getId() != null) {
+            revokeSession(record.getId());
+        }
+    }
+
+    @Override
+    public void revokeSession(String sessionId) {
+        Set<String> keys = store.removeMembers(SESSION_KEY_PREFIX + sessionId);
+        for (String key : keys) {
+            store.delete(key);
+            localRecords.invalidate(key);
+        }
+        log.debug("Revoked {} token(s) of session {}", keys.size(), sessionId);
+    }
+
+    private String issue(U user, String type, Duration validity) {
+        Instant now = Instant.now();
+        if (REFRESH_TOKEN_TYPE.equals(type)) {
+            Instant expiresAt = now.plus(validity);
+            return save(record(user, type, UUID.randomUUID().toString(), now, expiresAt), expiresAt);
+        }
+        return save(record(user, type, null, now, now.plus(validity)), null);
+    }
+
+    private OpaqueTokenRecord record(U user, String type, String sessionId, Instant issuedAt, Instant expiresAt) {
+        String userId = user.getId().toString();
+        Set<String> roles = new LinkedHashSet<>();
+        if (user.getRoles() != null) {
+            user.getRoles().forEach(role -> roles.add(String.valueOf(role)));
+        }
+        long epoch = tokenEpochs != null ? tokenEpochs.currentEpoch(userId) : 0L;
+        return new OpaqueTokenRecord(type, sessionId, userId, user.getUsername(), roles, issuedAt, expiresAt, epoch);
+    }
+
+    /**
+     * Stores the record under a new reference and, if it belongs to a session, adds its key to the
+     * session's set, which lives as long as the session's refresh token.
+     */
+    private String save(OpaqueTokenRecord record, Instant sessionExpiresAt) {
+        byte[] reference = new byte[REFERENCE_BYTES];
+        random.nextBytes(reference);
+        String token = encoder.encodeToString(reference);
+        String key = digest(token);
+        store.save(key, record.encode(), Duration.between(record.getIssuedAt(), record.getExpiresAt()));
+        if (record.getId() != null && sessionExpiresAt != null) {
+            store.addMember(SESSION_KEY_PREFIX + record.getId(), key, Duration.between(Instant.now(), sessionExpiresAt));
+        }
+        localRecords.put(key, record);
+        return token;
+    }
+
+    /**
+     * Returns the record if the token is known, unexpired and not revoked by a newer token epoch.
+     * Fails closed if the store or the epoch cannot be read.
+     */
+    private Optional<OpaqueTokenRecord> findActive(String token) {
+        try {
+            OpaqueTokenRecord record = load(token);
+            if (record == null || record.isExpired()) {
+                return Optional.empty();
+            }
+            if (tokenEpochs != null && record.getEpoch() < tokenEpochs.currentEpoch(record.getUserId())) {
+                log.debug("Rejected revoked token for user: {}", record.getUserId());
+                return Optional.empty();
+            }
+            return Optional.of(record);
+        } catch (RuntimeException e) {
+            log.warn("Could not validate opaque token", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Looks the token up in the local cache, then in the store; misses are not cached.
+     */
+    private OpaqueTokenRecord load(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String key = digest(token);
+        OpaqueTokenRecord record = localRecords.getIfPresent(key);
+        if (record != null) {
+            return record;
+        }
+        String stored = store.find(key);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            record = OpaqueTokenRecord.decode(stored);
+        } catch (IllegalArgumentException e) {
+            log.warn("Discarding malformed opaque token record");
+            return null;
+        }
+        localRecords.put(key, record);
+        return record;
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return encoder.encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
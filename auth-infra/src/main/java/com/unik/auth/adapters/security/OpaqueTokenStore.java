@@ -0,0 +1,32 @@
+package com.unik.auth.adapters.security;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Backing store for opaque token records, keyed by a digest of the token, and for the sets of record
+ * keys issued to each session.
+ * Selected with {@code security.token.opaque.store}: {@code redis} (default) or {@code memory} for single-node deployments.
+ */
+public interface OpaqueTokenStore {
+
+    void save(String key, String record, Duration ttl);
+
+    /**
+     * @return the stored record, or null if it is unknown or expired
+     */
+    String find(String key);
+
+    void delete(String key);
+
+    /**
+     * Adds a member to the set stored under the key and sets the set to expire after the TTL.
+     */
+    void addMember(String key, String member, Duration ttl);
+
+    /**
+     * Removes the set stored under the key.
+     * @return its members, empty if the set is unknown or expired
+     */
+    Set<String> removeMembers(String key);
+}
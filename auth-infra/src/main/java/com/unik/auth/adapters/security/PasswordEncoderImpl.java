@@ -1,23 +1,72 @@
 package com.unik.auth.adapters.security;
 
+import com.unik.auth.adapters.persistence.ReadConsistencyContext;
+import com.unik.auth.config.IoThreads;
+import com.unik.auth.ports.output.AsyncPasswordServicePort;
 import com.unik.auth.ports.output.PasswordServicePort;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+/**
+ * BCrypt password service. Hashing runs on a bounded pool of platform threads for async callers and,
+ * when blocking I/O runs on virtual threads, for synchronous callers too, so CPU-bound BCrypt rounds
+ * cannot occupy the carrier threads; a calling virtual thread parks until the result is ready.
+ * Async hashing runs in the caller's {@link ReadConsistencyContext} request scope, so repository calls
+ * chained onto its result still see it.
+ */
 @Service
-public class PasswordEncoderImpl implements PasswordServicePort {
+public class PasswordEncoderImpl implements PasswordServicePort, AsyncPasswordServicePort, DisposableBean {
     private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+    private final ExecutorService hashingExecutor;
+    private final Executor asyncHashingExecutor;
+    private final boolean offloadSynchronousHashing;
+
+    public PasswordEncoderImpl(
+            IoThreads ioThreads,
+            @Value("${security.password.hashing-threads:0}") int hashingThreads
+    ) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.asyncHashingExecutor = ReadConsistencyContext.propagating(hashingExecutor);
+        this.offloadSynchronousHashing = ioThreads.isVirtual();
+    }
 
     @Override
     public String encode(String rawPassword) {
-        return encoder.encode(rawPassword);
+        return hash(() -> encoder.encode(rawPassword));
     }
 
     @Override
     public boolean matches(String rawPassword, String encodedPassword) {
-        return !encoder.matches(rawPassword, encodedPassword);
+        return !hash(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public CompletionStage<String> encodeAsync(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), asyncHashingExecutor);
+    }
+
+    @Override
+    public CompletionStage<Boolean> matchesAsync(String rawPassword, String encodedPassword) {
+        return CompletableFuture.supplyAsync(() -> !encoder.matches(rawPassword, encodedPassword), asyncHashingExecutor);
     }
 
     @Override
@@ -34,4 +83,28 @@ public class PasswordEncoderImpl implements PasswordServicePort {
     public boolean isPasswordCompromised(String password) {
         return false;
     }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdownNow();
+    }
+
+    private <T> T hash(Supplier<T> work) {
+        if (!offloadSynchronousHashing) {
+            return work.get();
+        }
+        Future<T> result = hashingExecutor.submit(work::get);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
 }
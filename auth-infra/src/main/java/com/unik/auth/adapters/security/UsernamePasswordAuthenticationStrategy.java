@@ -2,9 +2,11 @@ package com.unik.auth.adapters.security;
 
 import com.unik.auth.application.services.UsernamePasswordCredentials;
 import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.valueobjects.UserId;
 import com.unik.auth.ports.output.AuthenticationStrategyPort;
 import com.unik.auth.ports.output.PasswordServicePort;
 import com.unik.auth.ports.output.UserRepositoryPort;
+import com.unik.auth.ports.output.dto.CredentialView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -36,33 +38,32 @@ public class UsernamePasswordAuthenticationStrategy<R> implements Authentication
             return Optional.empty();
         }
 
-        // Try to find the user by username or email
-        Optional<GenericUser<R>> userOpt = userRepository.findByUsername(credentials.getUsername());
+        // Load only the credential columns by username or email in a single lookup
+        Optional<CredentialView> credentialOpt = userRepository.findCredentialsByIdentifier(credentials.getUsername());
 
-        if (userOpt.isEmpty()) {
-            // If not found by username, try email
-            try {
-                com.unik.auth.domain.valueobjects.Email email = 
-                    com.unik.auth.domain.valueobjects.Email.of(credentials.getUsername());
-                userOpt = userRepository.findByEmail(email);
-            } catch (Exception e) {
-                log.debug("Invalid email format: {}", credentials.getUsername());
-            }
-        }
-
-        if (userOpt.isEmpty()) {
+        if (credentialOpt.isEmpty()) {
             log.debug("User not found with username: {}", credentials.getUsername());
             return Optional.empty();
         }
 
-        GenericUser<R> user = userOpt.get();
+        CredentialView credentialView = credentialOpt.get();
 
         // Verify password
-        if (passwordService.matches(credentials.getPassword(), user.getPassword())) {
-            log.debug("Password does not match for user: {}", user.getUsername());
+        if (passwordService.matches(credentials.getPassword(), credentialView.getPasswordHash())) {
+            log.debug("Password does not match for user: {}", credentials.getUsername());
+            return Optional.empty();
+        }
+
+        // Only a successful check pays for loading the full user
+        Optional<GenericUser<R>> userOpt = userRepository.findById(UserId.of(credentialView.getUserId()));
+
+        if (userOpt.isEmpty()) {
+            log.debug("User disappeared after credential check: {}", credentials.getUsername());
             return Optional.empty();
         }
 
+        GenericUser<R> user = userOpt.get();
+
         log.info("User authenticated successfully: {}", user.getUsername());
         return Optional.of(user);
     }
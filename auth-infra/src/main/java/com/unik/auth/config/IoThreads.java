@@ -0,0 +1,132 @@
+package com.unik.auth.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads the application itself owns for blocking I/O, such as notification dispatch and
+ * async repository calls. Servlet request threads belong to Spring Boot, which runs them on virtual
+ * threads under the same {@code spring.threads.virtual.enabled} switch.
+ * <p>
+ * When the switch is on and the runtime supports them (Java 21+), threads are virtual and executors
+ * start one thread per task, so in-flight I/O is bounded by the resources it waits on rather than by
+ * a pool size. The build targets Java 17, so virtual threads are reached reflectively; on older
+ * runtimes daemon platform threads are used instead. CPU-bound work such as password hashing must not
+ * run here, and neither should long blocking calls inside {@code synchronized} code, which pin the
+ * virtual thread's carrier: use {@link #startPlatform} for those.
+ * </p>
+ */
+@Slf4j
+@Component
+public class IoThreads {
+
+    private final boolean virtual;
+
+    public IoThreads(@Value("${spring.threads.virtual.enabled:false}") boolean enabled) {
+        boolean supported = enabled && newVirtualFactory("virtual-thread-probe-") != null;
+        if (enabled && !supported) {
+            log.warn("Virtual threads requested but not supported by Java {}; using platform threads",
+                    System.getProperty("java.version"));
+        }
+        this.virtual = supported;
+        log.info("Blocking I/O runs on {} threads", virtual ? "virtual" : "platform");
+    }
+
+    /**
+     * Returns true if threads created here are virtual.
+     * @return whether virtual threads are in use
+     */
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Returns a factory naming its threads {@code prefix0}, {@code prefix1}, ...
+     * @param prefix the thread name prefix
+     * @return the thread factory
+     */
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            ThreadFactory factory = newVirtualFactory(prefix);
+            if (factory != null) {
+                return factory;
+            }
+        }
+        return platformFactory(prefix);
+    }
+
+    /**
+     * Starts a named thread running the task.
+     * @param name the thread name
+     * @param task the task
+     * @return the started thread
+     */
+    public Thread start(String name, Runnable task) {
+        Thread thread = factory(name).newThread(task);
+        thread.setName(name);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Starts a named daemon platform thread running the task, whatever the switch says.
+     * @param name the thread name
+     * @param task the task
+     * @return the started thread
+     */
+    public Thread startPlatform(String name, Runnable task) {
+        Thread thread = platformFactory(name).newThread(task);
+        thread.setName(name);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Returns an executor for blocking tasks: one virtual thread per task, or a fixed
+     * pool of platform threads when virtual threads are not in use.
+     * @param prefix the thread name prefix
+     * @param platformThreads the pool size used with platform threads
+     * @return the executor
+     */
+    public ExecutorService executor(String prefix, int platformThreads) {
+        if (virtual) {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory(prefix));
+            } catch (ReflectiveOperationException e) {
+                log.warn("Thread-per-task executor unavailable; using a pool of {} threads", platformThreads, e);
+            }
+        }
+        return Executors.newFixedThreadPool(platformThreads, factory(prefix));
+    }
+
+    private static ThreadFactory platformFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory newVirtualFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        } catch (InvocationTargetException e) {
+            // Java 19/20 without --enable-preview
+            return null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.unik.auth.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled notification outbox dispatcher.
+ */
+@Configuration
+@EnableScheduling
+public class NotificationConfig {
+}
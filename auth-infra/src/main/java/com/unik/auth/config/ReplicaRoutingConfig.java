@@ -0,0 +1,70 @@
+package com.unik.auth.config;
+
+import com.unik.auth.adapters.persistence.ReadReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wires a primary datasource from {@code spring.datasource} plus one pool per read replica
+ * behind a routing datasource. Only active when {@code persistence.read-replicas.enabled} is true.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "persistence.read-replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Value("${persistence.read-replicas.urls:}")
+    private String[] replicaUrls;
+
+    @Value("${persistence.read-replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${persistence.read-replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("auth-primary");
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReadReplicaRoutingDataSource.PRIMARY, primary);
+
+        int replicaCount = 0;
+        for (String url : replicaUrls) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("auth-replica-" + replicaCount);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            if (properties.getDriverClassName() != null) {
+                replica.setDriverClassName(properties.getDriverClassName());
+            }
+            replica.setReadOnly(true);
+            targets.put(ReadReplicaRoutingDataSource.REPLICA_PREFIX + replicaCount, replica);
+            replicaCount++;
+        }
+        log.info("Routing read-only queries across {} replica(s)", replicaCount);
+
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(replicaCount);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
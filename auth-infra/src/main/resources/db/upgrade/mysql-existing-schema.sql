@@ -0,0 +1,69 @@
+-- One-off upgrade for MySQL schemas created by earlier versions of the service, which stored user ids
+-- as CHAR(36) and let Hibernate name the unique indexes. Fresh schemas do not need it: Hibernate
+-- (spring.jpa.hibernate.ddl-auto) creates every table, index and constraint with its final name.
+--
+-- Run it once, with the application stopped, before starting the new version; Hibernate then adds
+-- the covering login indexes and the notification_outbox table on startup. Generated constraint
+-- names are looked up in information_schema, so the script runs unedited. Before running it, resolve
+-- usernames that differ only in case, otherwise the normalized unique index cannot be created:
+--   SELECT LOWER(TRIM(username)), COUNT(*) FROM auth_users GROUP BY 1 HAVING COUNT(*) > 1;
+
+-- 1. User ids: CHAR(36) to BINARY(16). Existing random UUIDs keep their value; new ids are
+--    time-ordered (UUIDv7). UUID_TO_BIN is used without the swap flag: the application stores the
+--    UUID bytes in big-endian order, which is already time-ordered for v7 ids.
+
+ALTER TABLE auth_users ADD COLUMN id_bin BINARY(16) NULL;
+UPDATE auth_users SET id_bin = UUID_TO_BIN(id);
+
+ALTER TABLE auth_user_roles ADD COLUMN user_id_bin BINARY(16) NULL;
+UPDATE auth_user_roles r JOIN auth_users u ON r.user_id = u.id SET r.user_id_bin = u.id_bin;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'auth_user_roles'
+             AND COLUMN_NAME = 'user_id' AND REFERENCED_TABLE_NAME = 'auth_users' LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE auth_user_roles DROP FOREIGN KEY `', @fk, '`'));
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+ALTER TABLE auth_user_roles DROP PRIMARY KEY;
+ALTER TABLE auth_user_roles DROP COLUMN user_id;
+ALTER TABLE auth_user_roles CHANGE COLUMN user_id_bin user_id BINARY(16) NOT NULL;
+
+ALTER TABLE auth_users DROP PRIMARY KEY;
+ALTER TABLE auth_users DROP COLUMN id;
+ALTER TABLE auth_users CHANGE COLUMN id_bin id BINARY(16) NOT NULL;
+ALTER TABLE auth_users ADD PRIMARY KEY (id);
+
+ALTER TABLE auth_user_roles ADD PRIMARY KEY (user_id, role_id);
+ALTER TABLE auth_user_roles
+    ADD CONSTRAINT fk_auth_user_roles_user FOREIGN KEY (user_id) REFERENCES auth_users (id);
+
+-- 2. Normalized (trimmed, lowercased) username used for single-query username-or-email lookups.
+--    Emails are already stored normalized.
+
+ALTER TABLE auth_users ADD COLUMN username_normalized VARCHAR(255) NULL;
+UPDATE auth_users SET username_normalized = LOWER(TRIM(username));
+ALTER TABLE auth_users MODIFY COLUMN username_normalized VARCHAR(255) NOT NULL;
+ALTER TABLE auth_users ADD CONSTRAINT uk_auth_users_username_normalized UNIQUE (username_normalized);
+
+-- 3. Stable names for the single-column unique indexes, so registration can map a duplicate-key
+--    error to the conflicting field (AuthUserEntity.UK_EMAIL, UK_USERNAME).
+
+SET @uk = (SELECT INDEX_NAME FROM information_schema.STATISTICS
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'auth_users' AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'
+           GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'email' LIMIT 1);
+SET @ddl = IF(@uk IS NULL OR @uk = 'uk_auth_users_email', 'DO 0',
+              CONCAT('ALTER TABLE auth_users RENAME INDEX `', @uk, '` TO uk_auth_users_email'));
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+SET @uk = (SELECT INDEX_NAME FROM information_schema.STATISTICS
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'auth_users' AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'
+           GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'username' LIMIT 1);
+SET @ddl = IF(@uk IS NULL OR @uk = 'uk_auth_users_username', 'DO 0',
+              CONCAT('ALTER TABLE auth_users RENAME INDEX `', @uk, '` TO uk_auth_users_username'));
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
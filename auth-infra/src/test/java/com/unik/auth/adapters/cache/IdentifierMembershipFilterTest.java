@@ -0,0 +1,89 @@
+package com.unik.auth.adapters.cache;
+
+import com.unik.auth.adapters.persistence.AuthUserRepository;
+import com.unik.auth.adapters.persistence.UserIdentifierView;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdentifierMembershipFilterTest {
+
+    private final AuthUserRepository repository = mock(AuthUserRepository.class);
+    private final IdentifierMembershipFilter filter = new IdentifierMembershipFilter(
+            repository, mock(PlatformTransactionManager.class), true, 1_000, 0.01);
+
+    @Test
+    void reportsNothingAbsentUntilBuilt() {
+        assertThat(filter.isUsernameAbsent("alice")).isFalse();
+        assertThat(filter.isEmailAbsent("alice@example.com")).isFalse();
+    }
+
+    @Test
+    void reportsOnlyUnregisteredIdentifiersAbsentOnceBuilt() {
+        when(repository.streamAllIdentifiers()).thenReturn(Stream.of(view("Alice", "Alice@Example.com")));
+
+        filter.rebuild();
+
+        assertThat(filter.isUsernameAbsent("alice")).isFalse();
+        assertThat(filter.isEmailAbsent("alice@example.com")).isFalse();
+        assertThat(filter.isUsernameAbsent("bob")).isTrue();
+    }
+
+    @Test
+    void picksUpARegistrationWhoseBroadcastWasLostOnRebuild() {
+        when(repository.streamAllIdentifiers()).thenReturn(Stream.of(view("alice", "alice@example.com")));
+        filter.rebuild();
+        assertThat(filter.isUsernameAbsent("bob")).isTrue();
+
+        when(repository.streamAllIdentifiers())
+                .thenReturn(Stream.of(view("alice", "alice@example.com"), view("bob", "bob@example.com")));
+        filter.rebuild();
+
+        assertThat(filter.isUsernameAbsent("bob")).isFalse();
+        assertThat(filter.isEmailAbsent("bob@example.com")).isFalse();
+    }
+
+    @Test
+    void keepsIdentifiersAddedDuringARebuild() {
+        when(repository.streamAllIdentifiers()).thenAnswer(invocation -> {
+            filter.add("carol", "carol@example.com");
+            return Stream.of(view("alice", "alice@example.com"));
+        });
+
+        filter.rebuild();
+
+        assertThat(filter.isUsernameAbsent("carol")).isFalse();
+        assertThat(filter.isEmailAbsent("carol@example.com")).isFalse();
+    }
+
+    @Test
+    void keepsThePreviousFilterWhenARebuildFails() {
+        when(repository.streamAllIdentifiers()).thenReturn(Stream.of(view("alice", "alice@example.com")));
+        filter.rebuild();
+        when(repository.streamAllIdentifiers()).thenThrow(new IllegalStateException("database unavailable"));
+
+        filter.rebuild();
+
+        assertThat(filter.isUsernameAbsent("alice")).isFalse();
+        assertThat(filter.isUsernameAbsent("bob")).isTrue();
+    }
+
+    private static UserIdentifierView view(String username, String email) {
+        return new UserIdentifierView() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
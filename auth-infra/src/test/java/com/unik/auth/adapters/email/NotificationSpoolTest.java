@@ -0,0 +1,207 @@
+package com.unik.auth.adapters.email;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class NotificationSpoolTest {
+
+    private static final int SEGMENT_BYTES = 64;
+    private static final int HEADER_BYTES = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordsInAppendOrder() throws Exception {
+        try (NotificationSpool spool = open()) {
+            spool.append(bytes("first"));
+            spool.append(bytes("second"));
+
+            assertThat(text(spool.peek(100))).isEqualTo("first");
+            assertThat(text(spool.peek(100))).as("peek does not consume").isEqualTo("first");
+            spool.acknowledge();
+            assertThat(text(spool.peek(100))).isEqualTo("second");
+            spool.acknowledge();
+            assertThat(spool.peek(10)).isNull();
+        }
+    }
+
+    @Test
+    void resumesAfterTheLastAcknowledgedRecordOnReopen() throws Exception {
+        try (NotificationSpool spool = open()) {
+            spool.append(bytes("one"));
+            spool.append(bytes("two"));
+            spool.append(bytes("three"));
+            spool.peek(100);
+            spool.acknowledge();
+        }
+        try (NotificationSpool spool = open()) {
+            assertThat(text(spool.peek(100))).isEqualTo("two");
+            spool.acknowledge();
+            assertThat(text(spool.peek(100))).isEqualTo("three");
+        }
+    }
+
+    @Test
+    void rollsOverToNewSegmentsAndDeletesConsumedOnes() throws Exception {
+        try (NotificationSpool spool = open()) {
+            // 20-byte records: two fit in a 64-byte segment, so five records span three segments
+            for (int i = 0; i < 5; i++) {
+                spool.append(bytes(String.format("record-%013d", i)));
+            }
+            assertThat(segments()).hasSize(3);
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(text(spool.peek(100))).isEqualTo(String.format("record-%013d", i));
+                spool.acknowledge();
+            }
+            assertThat(spool.peek(10)).isNull();
+            assertThat(segments()).hasSize(1);
+        }
+    }
+
+    @Test
+    void readsAcrossSegmentsAfterReopen() throws Exception {
+        try (NotificationSpool spool = open()) {
+            for (int i = 0; i < 5; i++) {
+                spool.append(bytes(String.format("record-%013d", i)));
+            }
+            for (int i = 0; i < 3; i++) {
+                spool.peek(100);
+                spool.acknowledge();
+            }
+        }
+        try (NotificationSpool spool = open()) {
+            assertThat(text(spool.peek(100))).isEqualTo(String.format("record-%013d", 3));
+            spool.acknowledge();
+            assertThat(text(spool.peek(100))).isEqualTo(String.format("record-%013d", 4));
+            spool.acknowledge();
+            spool.append(bytes("after-reopen"));
+            assertThat(text(spool.peek(100))).isEqualTo("after-reopen");
+        }
+    }
+
+    @Test
+    void dropsATornRecordOnReopenAndAppendsInItsPlace() throws Exception {
+        try (NotificationSpool spool = open()) {
+            spool.append(bytes("intact"));
+            spool.append(bytes("torn"));
+        }
+        // Flip a body byte of the second record so its checksum no longer matches
+        int tornBody = HEADER_BYTES + "intact".length() + HEADER_BYTES;
+        flipByte(segments().get(0), tornBody);
+
+        try (NotificationSpool spool = open()) {
+            assertThat(text(spool.peek(100))).isEqualTo("intact");
+            spool.acknowledge();
+            assertThat(spool.peek(10)).as("torn record is not replayed").isNull();
+
+            spool.append(bytes("next"));
+            assertThat(text(spool.peek(100))).isEqualTo("next");
+        }
+    }
+
+    @Test
+    void dropsARecordWhoseLengthWasWrittenWithoutItsBody() throws Exception {
+        try (NotificationSpool spool = open()) {
+            spool.append(bytes("intact"));
+        }
+        // A length pointing past the end of the segment, as left by a crash mid-append
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(HEADER_BYTES + "intact".length());
+            file.writeInt(SEGMENT_BYTES);
+        }
+
+        try (NotificationSpool spool = open()) {
+            assertThat(text(spool.peek(100))).isEqualTo("intact");
+            spool.acknowledge();
+            assertThat(spool.peek(10)).isNull();
+        }
+    }
+
+    @Test
+    void restartsFromTheOldestSegmentWhenTheCursorIsCorrupt() throws Exception {
+        try (NotificationSpool spool = open()) {
+            spool.append(bytes("a"));
+            spool.append(bytes("b"));
+            spool.peek(100);
+            spool.acknowledge();
+        }
+        flipByte(directory.resolve("cursor"), 8);
+
+        try (NotificationSpool spool = open()) {
+            assertThat(text(spool.peek(100))).as("delivery is at least once").isEqualTo("a");
+        }
+    }
+
+    @Test
+    void rejectsRecordsThatCannotFitInASegment() throws Exception {
+        try (NotificationSpool spool = open()) {
+            assertThatThrownBy(() -> spool.append(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> spool.append(new byte[SEGMENT_BYTES - 2 * HEADER_BYTES + 1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+            spool.append(new byte[SEGMENT_BYTES - 2 * HEADER_BYTES]);
+            assertThat(spool.peek(100)).hasSize(SEGMENT_BYTES - 2 * HEADER_BYTES);
+        }
+    }
+
+    @Test
+    void keepsTheDirectoryPrivate() throws Exception {
+        assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path spoolDirectory = directory.resolve("spool");
+        try (NotificationSpool spool = new NotificationSpool(spoolDirectory, SEGMENT_BYTES, false)) {
+            spool.append(bytes("secret"));
+        }
+        assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(spoolDirectory))).isEqualTo("rwx------");
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            files.forEach(file -> {
+                try {
+                    assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file))).isEqualTo("rw-------");
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+            });
+        }
+    }
+
+    private NotificationSpool open() throws IOException {
+        return new NotificationSpool(directory, SEGMENT_BYTES, false);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private static void flipByte(Path file, long position) throws IOException {
+        try (RandomAccessFile access = new RandomAccessFile(file.toFile(), "rw")) {
+            access.seek(position);
+            int value = access.read();
+            access.seek(position);
+            access.write(value ^ 0xFF);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] record) {
+        return record == null ? null : new String(record, StandardCharsets.UTF_8);
+    }
+}
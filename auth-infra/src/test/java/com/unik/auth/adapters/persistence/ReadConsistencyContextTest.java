@@ -0,0 +1,75 @@
+package com.unik.auth.adapters.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadConsistencyContextTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistencyContext.clear();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void carriesTheRequestScopeIntoSubmittedTasks() {
+        AtomicReference<Set<String>> issued = new AtomicReference<>();
+        ReadConsistencyContext.begin(Set.of("i:1"), issued::set);
+
+        boolean pinnedInTask = CompletableFuture.supplyAsync(() -> {
+            ReadConsistencyContext.recordWrite(Set.of("i:2"));
+            return ReadConsistencyContext.isPinned("i:1");
+        }, ReadConsistencyContext.propagating(pool)).join();
+
+        assertThat(pinnedInTask).isTrue();
+        assertThat(issued.get()).containsExactly("i:2");
+        assertThat(ReadConsistencyContext.isPinnedToPrimary()).as("the write pins the rest of the request").isTrue();
+    }
+
+    @Test
+    void leavesNoStateOnThePoolThread() {
+        ReadConsistencyContext.begin(Set.of("i:1"), keys -> { });
+        CompletableFuture.runAsync(() -> ReadConsistencyContext.recordWrite(Set.of("i:1")),
+                ReadConsistencyContext.propagating(pool)).join();
+        ReadConsistencyContext.clear();
+
+        boolean pinnedLater = CompletableFuture.supplyAsync(
+                () -> ReadConsistencyContext.isPinnedToPrimary() || ReadConsistencyContext.isPinned("i:1"), pool).join();
+
+        assertThat(pinnedLater).isFalse();
+    }
+
+    @Test
+    void ignoresWritesOutsideARequestScope() {
+        ReadConsistencyContext.recordWrite(Set.of("i:1"));
+
+        assertThat(ReadConsistencyContext.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void stopsIssuingTokensOnceTheRequestHasEnded() {
+        AtomicReference<Set<String>> issued = new AtomicReference<>();
+        ReadConsistencyContext.begin(Set.of(), issued::set);
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+            gate.join();
+            ReadConsistencyContext.recordWrite(Set.of("i:1"));
+        }, ReadConsistencyContext.propagating(pool));
+
+        ReadConsistencyContext.clear();
+        gate.complete(null);
+        write.join();
+
+        assertThat(issued.get()).isNull();
+    }
+}
@@ -0,0 +1,56 @@
+package com.unik.auth.adapters.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadConsistencyTokensTest {
+
+    private final ReadConsistencyTokens tokens = new ReadConsistencyTokens("test-secret-of-at-least-32-characters", 5);
+
+    @Test
+    void returnsTheKeysOfAValidToken() {
+        String token = tokens.issue(Set.of("i:42", "u:alice", "e:alice@example.com"));
+
+        assertThat(tokens.verify(token)).containsExactlyInAnyOrder("i:42", "u:alice", "e:alice@example.com");
+    }
+
+    @Test
+    void rejectsABareTimestamp() {
+        assertThat(tokens.verify(Long.toString(System.currentTimeMillis()))).isEmpty();
+    }
+
+    @Test
+    void rejectsATokenNamingAnotherUser() {
+        String token = tokens.issue(Set.of("i:42"));
+        String signature = token.substring(token.indexOf('.'));
+        String forged = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((System.currentTimeMillis() + "\u001Fi:43").getBytes()) + signature;
+
+        assertThat(tokens.verify(forged)).isEmpty();
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherSecret() {
+        String token = new ReadConsistencyTokens("another-secret-of-at-least-32-chars", 5).issue(Set.of("i:42"));
+
+        assertThat(tokens.verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsATokenOlderThanThePinWindow() {
+        String token = new ReadConsistencyTokens("test-secret-of-at-least-32-characters", 0).issue(Set.of("i:42"));
+
+        assertThat(new ReadConsistencyTokens("test-secret-of-at-least-32-characters", 0).verify(token)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThat(tokens.verify(null)).isEmpty();
+        assertThat(tokens.verify("")).isEmpty();
+        assertThat(tokens.verify("not.base64!")).isEmpty();
+    }
+}
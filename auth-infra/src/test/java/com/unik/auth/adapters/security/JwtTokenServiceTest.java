@@ -0,0 +1,95 @@
+package com.unik.auth.adapters.security;
+
+import com.unik.auth.domain.entities.GenericUser;
+import com.unik.auth.domain.valueobjects.Email;
+import com.unik.auth.domain.valueobjects.Password;
+import com.unik.auth.domain.valueobjects.UserId;
+import com.unik.auth.ports.output.SessionRevocationPort;
+import com.unik.auth.ports.output.TokenEpochPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JwtTokenServiceTest {
+
+    private final Set<String> revokedSessions = new HashSet<>();
+    @SuppressWarnings("unchecked")
+    private final JwtTokenService<GenericUser<String>, String> tokenService = new JwtTokenService<>(
+            "test-secret-of-at-least-32-characters-long", 3600, 86400, "Bearer",
+            false, 1, new String[0], mock(ObjectProvider.class), false,
+            new SessionRevocationPort() {
+                @Override
+                public void revoke(String sessionId) {
+                    revokedSessions.add(sessionId);
+                }
+
+                @Override
+                public boolean isRevoked(String sessionId) {
+                    return revokedSessions.contains(sessionId);
+                }
+            });
+    private final GenericUser<String> user = GenericUser.<String>builder()
+            .id(UserId.generate())
+            .email(Email.of("alice@example.com"))
+            .username("alice")
+            .password(Password.fromEncoded("hash"))
+            .roles(Set.of("USER"))
+            .enabled(true)
+            .build();
+
+    @Test
+    void stampsTheSessionIntoSessionAccessTokens() {
+        String refreshToken = tokenService.generateRefreshToken(user);
+        String accessToken = tokenService.generateSessionAccessToken(user, refreshToken);
+
+        assertThat(tokenService.extractAllClaims(accessToken).get(JwtTokenService.SESSION_ID_CLAIM))
+                .isEqualTo(tokenService.extractAllClaims(refreshToken).getId());
+        assertThat(tokenService.verifyAccessToken(accessToken)).isPresent();
+    }
+
+    @Test
+    void rejectsAccessTokensOfARevokedSession() {
+        String refreshToken = tokenService.generateRefreshToken(user);
+        String accessToken = tokenService.generateSessionAccessToken(user, refreshToken);
+        String otherAccessToken = tokenService.generateSessionAccessToken(user, tokenService.generateRefreshToken(user));
+
+        tokenService.revokeSession(tokenService.extractAllClaims(refreshToken).getId());
+
+        assertThat(tokenService.verifyAccessToken(accessToken)).isEmpty();
+        assertThat(tokenService.isTokenValidAndNotExpired(accessToken)).isFalse();
+        assertThat(tokenService.verifyAccessToken(otherAccessToken)).isPresent();
+    }
+
+    @Test
+    void revokesTheSessionWhenItsRefreshTokenIsRevoked() {
+        String refreshToken = tokenService.generateRefreshToken(user);
+        String accessToken = tokenService.generateSessionAccessToken(user, refreshToken);
+
+        tokenService.revokeToken(refreshToken);
+
+        assertThat(tokenService.verifyAccessToken(accessToken)).isEmpty();
+    }
+
+    @Test
+    void keepsRefreshedAccessTokensInTheirSession() {
+        String refreshToken = tokenService.generateRefreshToken(user);
+        String refreshed = tokenService.refreshAccessToken(refreshToken).orElseThrow();
+
+        tokenService.revokeToken(refreshToken);
+
+        assertThat(tokenService.verifyAccessToken(refreshed)).isEmpty();
+    }
+
+    @Test
+    void acceptsAccessTokensNotTiedToASession() {
+        String accessToken = tokenService.generateAccessToken(user);
+        tokenService.revokeToken(accessToken);
+
+        assertThat(tokenService.verifyAccessToken(accessToken)).isPresent();
+    }
+}